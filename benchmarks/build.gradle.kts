@@ -0,0 +1,46 @@
+plugins {
+  id("carbon.base-conventions")
+  alias(libs.plugins.jmh)
+}
+
+dependencies {
+  jmhImplementation(projects.carbonchatCommon)
+
+  // compileOnly in common, provided by the platform at runtime
+  jmhImplementation(libs.guice) {
+    exclude("com.google.guava")
+  }
+  jmhImplementation(libs.guava)
+  jmhImplementation(platform(libs.log4jBom))
+  jmhImplementation(libs.log4jApi)
+  jmhImplementation(libs.gson)
+  jmhImplementation(libs.assistedInject) {
+    isTransitive = false
+  }
+  jmhImplementation(libs.caffeine)
+  jmhImplementation(libs.luckPermsApi)
+  jmhImplementation(libs.netty)
+
+  // provided by the platform at runtime
+  jmhImplementation(libs.adventureApi)
+  jmhImplementation(libs.adventureTextSerializerPlain)
+  jmhImplementation(libs.adventureTextSerializerLegacy)
+  jmhImplementation(libs.adventureTextSerializerGson) {
+    exclude("com.google.code.gson")
+  }
+  jmhImplementation(libs.minimessage)
+
+  // storage benchmarks
+  jmhImplementation(libs.jdbiCore)
+  jmhImplementation(libs.jdbiPostgres)
+  jmhImplementation(libs.flyway)
+  jmhImplementation(libs.flywayMysql)
+  jmhImplementation(libs.flywayPostgres)
+  jmhRuntimeOnly(libs.h2)
+  jmhRuntimeOnly(libs.mysql)
+  jmhRuntimeOnly(libs.postgresql)
+}
+
+jmh {
+  jmhVersion = libs.versions.jmh
+}
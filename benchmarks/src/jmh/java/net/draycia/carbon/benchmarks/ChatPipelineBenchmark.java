@@ -0,0 +1,155 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.api.channels.ChatChannel;
+import net.draycia.carbon.api.event.CarbonEventHandler;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.benchmarks.fixture.BenchmarkEnvironment;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.config.PrimaryConfig;
+import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.listeners.ChatListenerInternal;
+import net.draycia.carbon.common.listeners.PingHandler;
+import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.metrics.ChatTracer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The stages of handling one chat message on the default channel, run against a fully wired
+ * {@link BenchmarkEnvironment}: emitting the event, collecting recipients, rendering for every
+ * recipient through the channel's message proxy, chat filters and ping highlighting.
+ */
+@DefaultQualifier(NonNull.class)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatPipelineBenchmark {
+
+    @Param({"100", "500"})
+    private int players;
+
+    @Param("Hello @Player, have you seen https://example.com? What a darn good site")
+    private String message;
+
+    private @MonotonicNonNull BenchmarkEnvironment environment;
+    private @MonotonicNonNull BenchmarkChatListener listener;
+    private @MonotonicNonNull CarbonPlayer sender;
+    private @MonotonicNonNull CarbonPlayer recipient;
+    private @MonotonicNonNull ChatChannel channel;
+    private @MonotonicNonNull PrimaryConfig config;
+    private @MonotonicNonNull PingHandler pings;
+    private @MonotonicNonNull CarbonChatEventImpl event;
+    private @MonotonicNonNull Component component;
+
+    @Setup
+    public void setup() throws IOException {
+        this.environment = new BenchmarkEnvironment(this.players);
+        this.listener = new BenchmarkChatListener(
+            this.environment.get(CarbonEventHandler.class),
+            this.environment.get(CarbonMessages.class),
+            this.environment.get(ConfigManager.class),
+            this.environment.get(ChatTracer.class)
+        );
+        this.sender = this.environment.players().get(0);
+        this.recipient = this.environment.players().get(1);
+        this.channel = this.environment.get(CarbonChannelRegistry.class).defaultChannel();
+        this.config = this.environment.get(ConfigManager.class).primaryConfig();
+        this.pings = this.environment.get(PingHandler.class);
+        this.component = Component.text(this.message.replace("@Player", "@" + this.recipient.username()));
+        this.event = Objects.requireNonNull(this.listener.emit(this.sender, this.message), "message was dropped");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.environment.close();
+    }
+
+    @Benchmark
+    public @Nullable CarbonChatEventImpl prepareAndEmitChatEvent() {
+        return this.listener.emit(this.sender, this.message);
+    }
+
+    @Benchmark
+    public List<Audience> recipients() {
+        return this.channel.recipients(this.sender);
+    }
+
+    @Benchmark
+    public void renderForAll(final Blackhole blackhole) {
+        for (final Audience viewer : this.event.recipients()) {
+            blackhole.consume(this.event.renderFor(viewer));
+        }
+    }
+
+    @Benchmark
+    public String applyChatFilters() {
+        return this.config.applyChatFilters(this.message);
+    }
+
+    @Benchmark
+    public Component convertPings() {
+        return this.pings.convertPings(this.recipient, this.component);
+    }
+
+    static final class BenchmarkChatListener extends ChatListenerInternal {
+
+        BenchmarkChatListener(
+            final CarbonEventHandler carbonEventHandler,
+            final CarbonMessages carbonMessages,
+            final ConfigManager configManager,
+            final ChatTracer chatTracer
+        ) {
+            super(carbonEventHandler, carbonMessages, configManager, chatTracer, Runnable::run);
+        }
+
+        @Nullable CarbonChatEventImpl emit(final CarbonPlayer sender, final String message) {
+            return this.prepareAndEmitChatEvent(sender, message, null);
+        }
+
+    }
+
+}
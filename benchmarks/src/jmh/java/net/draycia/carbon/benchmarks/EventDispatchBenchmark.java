@@ -0,0 +1,217 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks;
+
+import com.google.inject.Guice;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.api.channels.ChatChannel;
+import net.draycia.carbon.api.event.CarbonEventHandler;
+import net.draycia.carbon.api.event.events.CarbonChatEvent;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.api.util.KeyedRenderer;
+import net.draycia.carbon.benchmarks.fixture.BenchmarkEnvironment;
+import net.draycia.carbon.benchmarks.fixture.FakeCarbonPlayer;
+import net.draycia.carbon.common.channels.ConfigChatChannel;
+import net.draycia.carbon.common.event.CarbonEventHandlerImpl;
+import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.listeners.RecipientFilterHandler;
+import net.draycia.carbon.common.messages.CarbonMessages;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Emits a {@link CarbonChatEventImpl} on a radius channel through {@link CarbonEventHandlerImpl} to the
+ * {@link FakeCarbonPlayer fake players} of a {@link BenchmarkEnvironment}. The sender is deafened, and one in
+ * ten recipients each ignores the sender, is deafened or stands out of range.
+ *
+ * <p>{@link #emitFused()} filters with {@link RecipientFilterHandler}, {@link #emitSeparate()} with the ignore,
+ * deafen and radius listeners it replaced, each making its own pass. Both have the same number of subscribers,
+ * the rest of which filter the recipient list like the mute handler does.</p>
+ */
+@DefaultQualifier(NonNull.class)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    private static final int RADIUS = 64;
+
+    @Param("10")
+    private int subscribers;
+
+    @Param("500")
+    private int recipients;
+
+    private @MonotonicNonNull BenchmarkEnvironment environment;
+    private @MonotonicNonNull CarbonEventHandler fused;
+    private @MonotonicNonNull CarbonEventHandler separate;
+    private @MonotonicNonNull CarbonPlayer sender;
+    private @MonotonicNonNull ChatChannel channel;
+    private @MonotonicNonNull List<Audience> recipientList;
+
+    @Setup
+    public void setup() throws IOException {
+        this.environment = new BenchmarkEnvironment(this.recipients);
+        this.channel = new RadiusChannel();
+
+        final List<CarbonPlayer> players = this.environment.players();
+        this.sender = players.get(0);
+        this.sender.deafened(true);
+        this.recipientList = new ArrayList<>(players);
+        for (int i = 1; i < players.size(); i++) {
+            final CarbonPlayer player = players.get(i);
+            if (i % 10 == 1) {
+                player.ignoring(this.sender, true);
+            } else if (i % 10 == 2) {
+                player.deafened(true);
+            } else if (i % 10 == 3) {
+                ((FakeCarbonPlayer) player).x(RADIUS * 2);
+            }
+        }
+
+        this.fused = newEventHandler();
+        new RecipientFilterHandler(this.fused, this.environment.get(CarbonMessages.class));
+        subscribeFillers(this.fused, this.subscribers - 1);
+
+        this.separate = newEventHandler();
+        subscribeSeparateFilters(this.separate);
+        subscribeFillers(this.separate, this.subscribers - 3);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.environment.close();
+    }
+
+    @Benchmark
+    public CarbonChatEventImpl emitFused() {
+        return this.emit(this.fused);
+    }
+
+    @Benchmark
+    public CarbonChatEventImpl emitSeparate() {
+        return this.emit(this.separate);
+    }
+
+    private CarbonChatEventImpl emit(final CarbonEventHandler events) {
+        final List<KeyedRenderer> renderers = new ArrayList<>();
+        final CarbonChatEventImpl event = new CarbonChatEventImpl(
+            this.sender,
+            Component.text("Hello world"),
+            new ArrayList<>(this.recipientList),
+            renderers,
+            this.channel,
+            null
+        );
+        events.emit(event);
+        return event;
+    }
+
+    private static CarbonEventHandler newEventHandler() {
+        final Logger logger = LogManager.getLogger(EventDispatchBenchmark.class);
+        return Guice.createInjector(binder -> binder.bind(Logger.class).toInstance(logger))
+            .getInstance(CarbonEventHandlerImpl.class);
+    }
+
+    private static void subscribeFillers(final CarbonEventHandler events, final int count) {
+        for (int i = 0; i < count; i++) {
+            events.subscribe(CarbonChatEvent.class, i % 3, false, event ->
+                event.recipients().removeIf(audience -> audience instanceof CarbonPlayer player && player.muted()));
+        }
+    }
+
+    // The ignore, deafen and radius listeners as they were before RecipientFilterHandler,
+    // without the same-world branch for a radius of 0 the channel here doesn't use
+    private static void subscribeSeparateFilters(final CarbonEventHandler events) {
+        events.subscribe(CarbonChatEvent.class, 0, false, event ->
+            event.recipients().removeIf(entry -> entry instanceof CarbonPlayer carbonPlayer &&
+                carbonPlayer.ignoring(event.sender())));
+
+        events.subscribe(CarbonChatEvent.class, 0, false, event -> {
+            if (!event.sender().deafened()) {
+                return;
+            }
+
+            event.recipients().removeIf(entry -> entry instanceof CarbonPlayer carbonPlayer &&
+                carbonPlayer.deafened());
+        });
+
+        events.subscribe(CarbonChatEvent.class, 0, false, event -> {
+            if (event.chatChannel() == null) {
+                return;
+            }
+
+            final double radius = event.chatChannel().radius();
+            if (radius <= 0) {
+                return;
+            }
+
+            event.recipients().removeIf(audience -> {
+                if (audience.equals(event.sender())) {
+                    return false;
+                }
+
+                if (audience instanceof CarbonPlayer carbonPlayer) {
+                    if (!event.sender().sameWorldAs(carbonPlayer)) {
+                        return true;
+                    }
+
+                    final double distance = carbonPlayer.distanceSquaredFrom(event.sender());
+                    return distance > (radius * radius);
+                }
+
+                return false;
+            });
+        });
+    }
+
+    private static final class RadiusChannel extends ConfigChatChannel {
+
+        @Override
+        public double radius() {
+            return RADIUS;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import net.draycia.carbon.common.users.json.ShardedJsonStore;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the one-pretty-file-per-player layout of {@code JSONUserManager} with {@link ShardedJsonStore}
+ * for loading single players and saving bursts of dirty players.
+ */
+@DefaultQualifier(NonNull.class)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonStorageBenchmark {
+
+    @Param("10000")
+    private int players;
+
+    @Param("100")
+    private int saveBurst;
+
+    private final Gson pretty = new GsonBuilder().setPrettyPrinting().create();
+    private final List<UUID> ids = new ArrayList<>();
+    private @MonotonicNonNull Path directory;
+    private @MonotonicNonNull Path legacyDirectory;
+    private @MonotonicNonNull ShardedJsonStore store;
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("carbon-json-bench");
+        this.legacyDirectory = Files.createDirectories(this.directory.resolve("users"));
+        this.store = new ShardedJsonStore(this.directory.resolve("storage/users"));
+        for (int i = 0; i < this.players; i++) {
+            final UUID id = UUID.randomUUID();
+            this.ids.add(id);
+            final JsonElement player = samplePlayer(id);
+            Files.writeString(this.legacyDirectory.resolve(id + ".json"), this.pretty.toJson(player));
+            this.store.put(id, player);
+        }
+        this.store.flush();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (final Stream<Path> files = Files.walk(this.directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public JsonElement legacyLoad() throws IOException {
+        try (final Reader reader = Files.newBufferedReader(this.legacyDirectory.resolve(this.randomId() + ".json"))) {
+            return JsonParser.parseReader(reader);
+        }
+    }
+
+    @Benchmark
+    public @Nullable JsonElement shardedLoadCold() throws IOException {
+        // a fresh store has no shard in memory, so this includes reading the shard file
+        return new ShardedJsonStore(this.store.directory()).get(this.randomId());
+    }
+
+    @Benchmark
+    public @Nullable JsonElement shardedLoadWarm() {
+        return this.store.get(this.randomId());
+    }
+
+    @Benchmark
+    public void legacySaveBurst() throws IOException {
+        for (int i = 0; i < this.saveBurst; i++) {
+            final UUID id = this.randomId();
+            Files.writeString(this.legacyDirectory.resolve(id + ".json"), this.pretty.toJson(samplePlayer(id)));
+        }
+    }
+
+    @Benchmark
+    public void shardedSaveBurst() throws IOException {
+        for (int i = 0; i < this.saveBurst; i++) {
+            final UUID id = this.randomId();
+            this.store.put(id, samplePlayer(id));
+        }
+        this.store.flush();
+    }
+
+    private UUID randomId() {
+        return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+    }
+
+    private static JsonElement samplePlayer(final UUID id) {
+        final JsonObject player = new JsonObject();
+        player.addProperty("uuid", id.toString());
+        player.addProperty("muted", false);
+        player.addProperty("deafened", false);
+        player.addProperty("selectedChannel", "carbon:global");
+        player.addProperty("displayName", "{\"text\":\"Player\",\"color\":\"gold\"}");
+        player.addProperty("spying", false);
+        player.addProperty("ignoringDirectMessages", false);
+        final JsonArray ignored = new JsonArray();
+        for (int i = 0; i < 3; i++) {
+            ignored.add(UUID.randomUUID().toString());
+        }
+        player.add("ignoredPlayers", ignored);
+        final JsonArray left = new JsonArray();
+        left.add("carbon:staff");
+        player.add("leftChannels", left);
+        return player;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.common.messaging.packets.ChatMessagePacket;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes and decodes a cross-server {@link ChatMessagePacket} carrying a typical styled chat component.
+ */
+@DefaultQualifier(NonNull.class)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    private final UUID serverId = UUID.randomUUID();
+    private final ByteBuf buffer = Unpooled.buffer(1024);
+    private @MonotonicNonNull ChatMessagePacket packet;
+    private @MonotonicNonNull ByteBuf encoded;
+
+    @Setup
+    public void setup() {
+        final Component message = Component.text()
+            .append(Component.text("[Global] ", NamedTextColor.GRAY))
+            .append(Component.text("Player", NamedTextColor.AQUA)
+                .hoverEvent(HoverEvent.showText(Component.text("Click to message")))
+                .clickEvent(ClickEvent.suggestCommand("/msg Player ")))
+            .append(Component.text(": "))
+            .append(Component.text("Hello everyone, this is a ", NamedTextColor.WHITE))
+            .append(Component.text("chat message", NamedTextColor.YELLOW, TextDecoration.BOLD))
+            .build();
+        this.packet = new ChatMessagePacket(this.serverId, UUID.randomUUID(), "carbon.channel.global", Key.key("carbon", "global"), "Player", message);
+        this.encoded = Unpooled.buffer(1024);
+        this.packet.write(this.encoded);
+    }
+
+    @Benchmark
+    public ByteBuf encode() {
+        this.buffer.clear();
+        this.packet.write(this.buffer);
+        return this.buffer;
+    }
+
+    @Benchmark
+    public ChatMessagePacket decode() {
+        return new ChatMessagePacket(this.serverId, this.encoded.duplicate());
+    }
+
+}
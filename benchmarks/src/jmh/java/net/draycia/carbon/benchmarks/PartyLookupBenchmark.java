@@ -0,0 +1,173 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.common.config.PrimaryConfig;
+import net.draycia.carbon.common.users.db.QueriesLocator;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.h2.H2DatabasePlugin;
+import org.jdbi.v3.core.result.RowView;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Party membership lookups on an in-memory H2 database holding 100k parties with 1M memberships,
+ * with and without the {@code playerid}/{@code party} indexes added by the party index migration.
+ */
+@DefaultQualifier(NonNull.class)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartyLookupBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:carbon-party-bench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    @Param("100000")
+    private int parties;
+
+    @Param("10")
+    private int membersPerParty;
+
+    private @MonotonicNonNull Jdbi jdbi;
+    private @MonotonicNonNull QueriesLocator locator;
+    private final List<UUID> partyIds = new ArrayList<>();
+    private final List<UUID> memberIds = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        final String url = URL + "-" + this.indexed;
+        Flyway.configure(PartyLookupBenchmark.class.getClassLoader())
+            .dataSource(url, "", "")
+            .locations("queries/migrations/h2")
+            .target(this.indexed ? MigrationVersion.LATEST : MigrationVersion.fromVersion("3"))
+            .load()
+            .migrate();
+
+        this.jdbi = Jdbi.create(url, "", "").installPlugin(new H2DatabasePlugin());
+        this.locator = new QueriesLocator(PrimaryConfig.StorageType.H2);
+
+        this.jdbi.useTransaction(handle -> {
+            final PreparedBatch parties = handle.prepareBatch(this.locator.query("insert-party"));
+            final PreparedBatch members = handle.prepareBatch(this.locator.query("insert-party-member"));
+            for (int i = 0; i < this.parties; i++) {
+                final UUID partyId = UUID.randomUUID();
+                this.partyIds.add(partyId);
+                parties.bind("partyid", partyId).bind("name", "{\"text\":\"party " + i + "\"}").add();
+                for (int j = 0; j < this.membersPerParty; j++) {
+                    final UUID memberId = UUID.randomUUID();
+                    this.memberIds.add(memberId);
+                    members.bind("partyid", partyId).bind("playerid", memberId).add();
+                }
+                if (i % 1000 == 999) {
+                    parties.execute();
+                    members.execute();
+                }
+            }
+            if (parties.size() > 0) {
+                parties.execute();
+            }
+            if (members.size() > 0) {
+                members.execute();
+            }
+        });
+    }
+
+    @Benchmark
+    public @Nullable Object loadPartyLegacy() {
+        final UUID partyId = this.randomParty();
+        return this.jdbi.withHandle(handle -> {
+            final @Nullable Map<String, Object> party = handle.createQuery(this.locator.query("select-party"))
+                .bind("partyid", partyId)
+                .mapToMap()
+                .findOne()
+                .orElse(null);
+            if (party == null) {
+                return null;
+            }
+            return handle.createQuery(this.locator.query("legacy-select-party-members"))
+                .bind("partyid", partyId)
+                .mapTo(UUID.class)
+                .list();
+        });
+    }
+
+    @Benchmark
+    public @Nullable Object loadPartyJoined() {
+        final UUID partyId = this.randomParty();
+        return this.jdbi.withHandle(handle -> handle.createQuery(this.locator.query("select-party-with-members"))
+            .bind("partyid", partyId)
+            .reduceRows((final Map<UUID, List<UUID>> parties, final RowView row) -> {
+                final List<UUID> members = parties.computeIfAbsent(row.getColumn("partyid", UUID.class), $ -> new ArrayList<>());
+                final @Nullable UUID member = row.getColumn("playerid", UUID.class);
+                if (member != null) {
+                    members.add(member);
+                }
+            })
+            .findFirst()
+            .orElse(null));
+    }
+
+    @Benchmark
+    public void leaveAndRejoin() {
+        final int index = ThreadLocalRandom.current().nextInt(this.memberIds.size());
+        final UUID memberId = this.memberIds.get(index);
+        final UUID partyId = this.partyIds.get(index / this.membersPerParty);
+        this.jdbi.useTransaction(handle -> {
+            handle.createUpdate(this.locator.query("drop-party-member")).bind("playerid", memberId).execute();
+            handle.createUpdate(this.locator.query("insert-party-member"))
+                .bind("partyid", partyId)
+                .bind("playerid", memberId)
+                .execute();
+        });
+    }
+
+    private UUID randomParty() {
+        return this.partyIds.get(ThreadLocalRandom.current().nextInt(this.partyIds.size()));
+    }
+
+}
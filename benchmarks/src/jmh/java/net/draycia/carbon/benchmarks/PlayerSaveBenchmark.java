@@ -0,0 +1,178 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import net.draycia.carbon.common.config.PrimaryConfig;
+import net.draycia.carbon.common.users.db.QueriesLocator;
+import net.draycia.carbon.common.users.db.argument.BinaryUUIDArgumentFactory;
+import net.draycia.carbon.common.users.db.argument.KeyArgumentFactory;
+import net.draycia.carbon.common.users.db.mapper.BinaryUUIDColumnMapper;
+import net.draycia.carbon.common.users.db.mapper.NativeUUIDColumnMapper;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.flywaydb.core.Flyway;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.h2.H2DatabasePlugin;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.core.statement.Update;
+import org.jdbi.v3.postgres.PostgresPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Saves a returning player the way {@code DatabaseUserManager} used to (insert, then update when nothing
+ * was inserted, then clear and re-insert child rows) against the single upsert used now.
+ *
+ * <p>Runs against an in-memory H2 database by default; point {@code url}/{@code storageType} at a local
+ * MySQL or PostgreSQL instance (i.e. {@code -p storageType=PSQL -p url=jdbc:postgresql://...}) to compare
+ * the other dialects.</p>
+ */
+@DefaultQualifier(NonNull.class)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerSaveBenchmark {
+
+    @Param("H2")
+    private String storageType;
+
+    @Param("jdbc:h2:mem:carbon-bench;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    private String url;
+
+    @Param("")
+    private String username;
+
+    @Param("")
+    private String password;
+
+    @Param("5")
+    private int ignores;
+
+    private @MonotonicNonNull Jdbi jdbi;
+    private @MonotonicNonNull QueriesLocator locator;
+    private final UUID player = UUID.randomUUID();
+    private @MonotonicNonNull List<UUID> ignored;
+
+    @Setup
+    public void setup() {
+        final PrimaryConfig.StorageType type = PrimaryConfig.StorageType.valueOf(this.storageType);
+        final String migrations = switch (type) {
+            case MYSQL -> "queries/migrations/mysql";
+            case PSQL -> "queries/migrations/postgresql";
+            case H2 -> "queries/migrations/h2";
+            case JSON, JSON_SHARDED -> throw new IllegalArgumentException("JSON storage has no database");
+        };
+        Flyway.configure(PlayerSaveBenchmark.class.getClassLoader())
+            .dataSource(this.url, this.username, this.password)
+            .locations(migrations)
+            .baselineVersion("0")
+            .baselineOnMigrate(true)
+            .load()
+            .migrate();
+
+        this.jdbi = Jdbi.create(this.url, this.username, this.password)
+            .registerArgument(new KeyArgumentFactory());
+        switch (type) {
+            case MYSQL -> this.jdbi.registerArgument(new BinaryUUIDArgumentFactory())
+                .registerColumnMapper(UUID.class, new BinaryUUIDColumnMapper());
+            case PSQL -> this.jdbi.registerColumnMapper(UUID.class, new NativeUUIDColumnMapper())
+                .installPlugin(new PostgresPlugin());
+            default -> this.jdbi.installPlugin(new H2DatabasePlugin());
+        }
+        this.locator = new QueriesLocator(type);
+        this.ignored = Stream.generate(UUID::randomUUID).limit(this.ignores).toList();
+
+        // make the player a returning one, so the legacy path always needs its second statement
+        this.jdbi.useHandle(handle -> this.bind(handle.createUpdate(this.locator.query("upsert-player"))).execute());
+    }
+
+    @Benchmark
+    public void legacyInsertThenUpdate() {
+        this.jdbi.useTransaction(handle -> {
+            final int inserted = this.bind(handle.createUpdate(this.locator.query("legacy-insert-player"))).execute();
+            if (inserted != 1) {
+                this.bind(handle.createUpdate(this.locator.query("legacy-update-player"))).execute();
+            }
+            handle.createUpdate(this.locator.query("clear-ignores")).bind("id", this.player).execute();
+            handle.createUpdate(this.locator.query("clear-leftchannels")).bind("id", this.player).execute();
+            this.saveIgnores(handle);
+        });
+    }
+
+    @Benchmark
+    public void upsert() {
+        this.jdbi.useTransaction(handle -> this.bind(handle.createUpdate(this.locator.query("upsert-player"))).execute());
+    }
+
+    @Benchmark
+    public void upsertWithChangedIgnores() {
+        this.jdbi.useTransaction(handle -> {
+            this.bind(handle.createUpdate(this.locator.query("upsert-player"))).execute();
+            handle.createUpdate(this.locator.query("clear-ignores")).bind("id", this.player).execute();
+            this.saveIgnores(handle);
+        });
+    }
+
+    private void saveIgnores(final Handle handle) {
+        if (this.ignored.isEmpty()) {
+            return;
+        }
+        final PreparedBatch batch = handle.prepareBatch(this.locator.query("save-ignores"));
+        for (final UUID id : this.ignored) {
+            batch.bind("id", this.player).bind("ignoredplayer", id).add();
+        }
+        batch.execute();
+    }
+
+    private Update bind(final Update update) {
+        final @Nullable UUID none = null;
+        return update.bind("id", this.player)
+            .bind("muted", false)
+            .bind("deafened", false)
+            .bind("selectedchannel", Key.key("carbon", "global"))
+            .bind("displayname", (String) null)
+            .bind("lastwhispertarget", none)
+            .bind("whisperreplytarget", none)
+            .bind("spying", false)
+            .bind("ignoringdms", false)
+            .bind("party", none);
+    }
+
+}
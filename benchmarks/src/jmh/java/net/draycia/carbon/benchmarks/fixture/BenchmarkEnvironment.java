@@ -0,0 +1,104 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks.fixture;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.listeners.Listener;
+import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.users.PlatformUserManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * A fully wired Carbon instance in a temporary data directory, using JSON storage and the default
+ * channel configs, with a number of {@link FakeCarbonPlayer fake players} online.
+ */
+@DefaultQualifier(NonNull.class)
+public final class BenchmarkEnvironment implements AutoCloseable {
+
+    // a few representative regex filters, the default config has none
+    private static final String CONFIG = """
+        chat-filter {
+            "(?i)\\\\bbadword\\\\b"="*******"
+            "(?i)\\\\bdarn\\\\b"="****"
+            "(?i)https?://\\\\S+"="[link]"
+        }
+        """;
+
+    private final Path dataDirectory;
+    private final Injector injector;
+    private final List<CarbonPlayer> players;
+
+    public BenchmarkEnvironment(final int players) throws IOException {
+        this.dataDirectory = Files.createTempDirectory("carbon-benchmark");
+        Files.writeString(this.dataDirectory.resolve("config.conf"), CONFIG);
+
+        this.injector = Guice.createInjector(new BenchmarkPlatformModule(this.dataDirectory));
+        this.injector.getInstance(CarbonChannelRegistry.class).loadConfigChannels(this.injector.getInstance(CarbonMessages.class));
+        // listeners subscribe to chat events on construction, like during platform init
+        this.injector.getInstance(Key.get(new TypeLiteral<Set<Listener>>() {}));
+
+        final PlatformUserManager users = this.injector.getInstance(PlatformUserManager.class);
+        final FakeCarbonServer server = this.injector.getInstance(FakeCarbonServer.class);
+        this.players = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            final CarbonPlayer player = users.user(UUID.randomUUID()).join();
+            server.join(player);
+            this.players.add(player);
+        }
+    }
+
+    public Injector injector() {
+        return this.injector;
+    }
+
+    public <T> T get(final Class<T> type) {
+        return this.injector.getInstance(type);
+    }
+
+    public List<CarbonPlayer> players() {
+        return this.players;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.injector.getInstance(PlatformUserManager.class).shutdown();
+        try (final Stream<Path> files = Files.walk(this.dataDirectory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks.fixture;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.CarbonServer;
+import net.draycia.carbon.api.channels.ChannelRegistry;
+import net.draycia.carbon.api.event.CarbonEventHandler;
+import net.draycia.carbon.api.users.UserManager;
+import net.draycia.carbon.common.users.PlatformUserManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class FakeCarbonChat implements CarbonChat {
+
+    private final CarbonEventHandler eventHandler;
+    private final CarbonServer server;
+    private final PlatformUserManager userManager;
+    private final ChannelRegistry channelRegistry;
+
+    @Inject
+    private FakeCarbonChat(
+        final CarbonEventHandler eventHandler,
+        final CarbonServer server,
+        final PlatformUserManager userManager,
+        final ChannelRegistry channelRegistry
+    ) {
+        this.eventHandler = eventHandler;
+        this.server = server;
+        this.userManager = userManager;
+        this.channelRegistry = channelRegistry;
+    }
+
+    @Override
+    public CarbonEventHandler eventHandler() {
+        return this.eventHandler;
+    }
+
+    @Override
+    public CarbonServer server() {
+        return this.server;
+    }
+
+    @Override
+    public UserManager<?> userManager() {
+        return this.userManager;
+    }
+
+    @Override
+    public ChannelRegistry channelRegistry() {
+        return this.channelRegistry;
+    }
+
+}
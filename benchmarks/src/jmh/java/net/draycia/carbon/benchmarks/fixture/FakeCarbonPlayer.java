@@ -0,0 +1,98 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks.fixture;
+
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+import java.util.List;
+import java.util.Optional;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An online player with every permission and no connection. Fake players stand on a single line,
+ * next to everyone else until moved with {@link #x(double)}.
+ */
+@DefaultQualifier(NonNull.class)
+public final class FakeCarbonPlayer extends WrappedCarbonPlayer implements ForwardingAudience.Single {
+
+    private volatile double x = 0;
+
+    @AssistedInject
+    private FakeCarbonPlayer(final @Assisted CarbonPlayerCommon carbonPlayerCommon) {
+        super(carbonPlayerCommon);
+    }
+
+    public void x(final double x) {
+        this.x = x;
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+        return Audience.empty();
+    }
+
+    @Override
+    protected Optional<Component> platformDisplayName() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean hasPermission(final String permission) {
+        return true;
+    }
+
+    @Override
+    public String primaryGroup() {
+        return "default";
+    }
+
+    @Override
+    public List<String> groups() {
+        return List.of("default");
+    }
+
+    @Override
+    public boolean online() {
+        return true;
+    }
+
+    @Override
+    public double distanceSquaredFrom(final CarbonPlayer other) {
+        if (other instanceof FakeCarbonPlayer fake) {
+            final double distance = this.x - fake.x;
+            return distance * distance;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean sameWorldAs(final CarbonPlayer other) {
+        return true;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.benchmarks.fixture;
+
+import com.google.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.draycia.carbon.api.CarbonServer;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A server whose online players are whatever the benchmark {@link #join joins}.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class FakeCarbonServer implements CarbonServer, ForwardingAudience.Single {
+
+    private final List<CarbonPlayer> players = new CopyOnWriteArrayList<>();
+
+    public void join(final CarbonPlayer player) {
+        this.players.add(player);
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+        return Audience.empty();
+    }
+
+    @Override
+    public Audience console() {
+        return Audience.empty();
+    }
+
+    @Override
+    public List<? extends CarbonPlayer> players() {
+        return this.players;
+    }
+
+}
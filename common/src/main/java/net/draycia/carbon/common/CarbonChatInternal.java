@@ -25,6 +25,7 @@ import com.google.inject.Provider;
 import com.google.inject.TypeLiteral;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import net.draycia.carbon.api.CarbonChat;
@@ -36,16 +37,20 @@ import net.draycia.carbon.common.command.CarbonCommand;
 import net.draycia.carbon.common.command.ExecutionCoordinatorHolder;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.integration.Integration;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.listeners.Listener;
+import net.draycia.carbon.common.messages.CarbonMessageSource;
 import net.draycia.carbon.common.messages.CarbonMessages;
 import net.draycia.carbon.common.messaging.MessagingManager;
 import net.draycia.carbon.common.messaging.packets.PacketFactory;
+import net.draycia.carbon.common.metrics.MetricsHttpServer;
 import net.draycia.carbon.common.users.PlayerUtils;
 import net.draycia.carbon.common.users.ProfileCache;
 import net.draycia.carbon.common.users.ProfileResolver;
 import net.draycia.carbon.common.users.UserManagerInternal;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.draycia.carbon.common.util.ConcurrentUtil;
+import net.draycia.carbon.common.util.StartupOrchestrator;
 import net.draycia.carbon.common.util.UpdateChecker;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -96,14 +101,45 @@ public abstract class CarbonChatInternal implements CarbonChat {
     }
 
     protected void init() {
+        final StartupOrchestrator startup = new StartupOrchestrator(this.logger);
+
+        startup.background("metrics", () -> this.injector.getInstance(MetricsHttpServer.class).start());
+
         // Listeners
-        final Set<Listener> listeners = this.injector.getInstance(Key.get(new TypeLiteral<Set<Listener>>() {}));
+        startup.main("listeners", () -> this.injector.getInstance(Key.get(new TypeLiteral<Set<Listener>>() {})));
 
         // Commands
         // This is a bit awkward looking
-        final Set<CarbonCommand> commands = this.injector.getInstance(Key.get(new TypeLiteral<Set<CarbonCommand>>() {}));
-        CloudUtils.registerCommands(commands, this.injector.getInstance(ConfigManager.class).loadCommandSettings());
+        startup.main("commands", () -> {
+            final Set<CarbonCommand> commands = this.injector.getInstance(Key.get(new TypeLiteral<Set<CarbonCommand>>() {}));
+            CloudUtils.registerCommands(commands, this.injector.getInstance(ConfigManager.class).loadCommandSettings());
+        });
+
+        startup.main("periodic tasks", this::schedulePeriodicTasks);
+
+        // Integration
+        startup.main("integrations", () -> {
+            final Set<Integration> integrations = this.injector().getInstance(Key.get(new TypeLiteral<>() {}));
+
+            for (final Integration integration : integrations) {
+                if (!integration.eligible()) {
+                    continue;
+                }
+
+                integration.register();
+            }
+        });
+
+        // Load channels, integrations may register special channel types
+        startup.main("channels", () -> this.channelRegistry().loadConfigChannels(this.carbonMessages), "integrations");
 
+        // Chat packets received from the broker need their channel, so only connect once channels are registered
+        startup.background("messaging", this.messagingManager::get, "channels");
+
+        startup.run();
+    }
+
+    private void schedulePeriodicTasks() {
         this.periodicTasks.scheduleAtFixedRate(
             () -> PlayerUtils.saveLoggedInPlayers(this.carbonServer, this.userManager, this.logger),
             5,
@@ -122,22 +158,6 @@ public abstract class CarbonChatInternal implements CarbonChat {
             30,
             TimeUnit.SECONDS
         );
-
-        // Integration
-        final Set<Integration> integrations = this.injector().getInstance(Key.get(new TypeLiteral<>() {}));
-
-        for (final Integration integration : integrations) {
-            if (!integration.eligible()) {
-                continue;
-            }
-
-            integration.register();
-        }
-
-        // Load channels
-        this.channelRegistry().loadConfigChannels(this.carbonMessages);
-
-        this.messagingManager.get();
     }
 
     protected final void checkVersion() {
@@ -155,10 +175,14 @@ public abstract class CarbonChatInternal implements CarbonChat {
         this.messagingManager.get().queuePacket(() -> this.injector.getInstance(PacketFactory.class).clearLocalPlayersPacket());
         this.messagingManager.get().onShutdown();
         ConcurrentUtil.shutdownExecutor(this.periodicTasks, TimeUnit.MILLISECONDS, 500);
+        ConcurrentUtil.shutdownExecutor(this.injector.getInstance(Key.get(ExecutorService.class, ChatPipeline.class)), TimeUnit.MILLISECONDS, 500);
         this.profileCache.save();
         this.profileResolver.shutdown();
         this.userManager.shutdown();
         this.commandExecutor.shutdown();
+        this.injector.getInstance(ChatDelivery.class).shutdown();
+        this.injector.getInstance(CarbonMessageSource.class).shutdown();
+        this.injector.getInstance(MetricsHttpServer.class).stop();
     }
 
     public Logger logger() {
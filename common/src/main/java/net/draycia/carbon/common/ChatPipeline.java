@@ -17,24 +17,21 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
-package net.draycia.carbon.common.listeners;
+package net.draycia.carbon.common;
 
-import com.google.inject.Inject;
-import net.draycia.carbon.api.event.CarbonEventHandler;
-import net.draycia.carbon.api.event.events.CarbonChatEvent;
-import net.draycia.carbon.api.users.CarbonPlayer;
-import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.framework.qual.DefaultQualifier;
-
-@DefaultQualifier(NonNull.class)
-public class IgnoreHandler implements Listener {
-
-    @Inject
-    public IgnoreHandler(final CarbonEventHandler events) {
-        events.subscribe(CarbonChatEvent.class, 0, false, event -> {
-            event.recipients().removeIf(entry -> entry instanceof CarbonPlayer carbonPlayer &&
-                carbonPlayer.ignoring(event.sender()));
-        });
-    }
+import com.google.inject.BindingAnnotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * Injection binding annotation for the {@link ExecutorService} running the chat
+ * pipeline when it can't run on the thread the message arrived on.
+ */
+@BindingAnnotation
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.FIELD, ElementType.METHOD})
+public @interface ChatPipeline {
 }
@@ -28,16 +28,23 @@ import com.seiama.registry.Registry;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -47,6 +54,7 @@ import net.draycia.carbon.api.event.CarbonEventHandler;
 import net.draycia.carbon.api.event.events.CarbonChannelRegisterEvent;
 import net.draycia.carbon.api.event.events.ChannelSwitchEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.ChatPipeline;
 import net.draycia.carbon.common.DataDirectory;
 import net.draycia.carbon.common.RawChat;
 import net.draycia.carbon.common.command.Commander;
@@ -56,9 +64,12 @@ import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
 import net.draycia.carbon.common.event.events.CarbonReloadEvent;
 import net.draycia.carbon.common.event.events.ChannelRegisterEventImpl;
 import net.draycia.carbon.common.event.events.ChannelSwitchEventImpl;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.listeners.ChatListenerInternal;
 import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.metrics.ChatTracer;
 import net.draycia.carbon.common.users.ConsoleCarbonPlayer;
+import net.draycia.carbon.common.util.ConcurrentUtil;
 import net.draycia.carbon.common.util.Exceptions;
 import net.draycia.carbon.common.util.FileUtil;
 import net.kyori.adventure.audience.Audience;
@@ -91,10 +102,15 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
     private final CarbonMessages carbonMessages;
     private final CarbonEventHandler eventHandler;
     private final Key rawChatKey;
+    private final ChatDelivery chatDelivery;
     private final Map<String, SpecialHandler<?>> handlers = new HashMap<>();
 
     private record SpecialHandler<T extends ConfigChatChannel>(Class<T> cls, Supplier<T> defaultSupplier) {}
 
+    private record ChannelFile(byte[] digest, ChatChannel channel) {}
+
+    private record LoadedChannel(ChatChannel channel, boolean unchanged) {}
+
     public <T extends ConfigChatChannel> void registerSpecialConfigChannel(final String fileName, final Class<T> type) {
         if (this.handlers.containsKey(fileName)) {
             throw new IllegalStateException("Attempting to register duplicate entry (existing: " + this.handlers.get(fileName)
@@ -105,6 +121,7 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
 
     private volatile Registry<Key, ChatChannel> channelRegistry = Registry.create();
     private final Set<Key> configChannels = ConcurrentHashMap.newKeySet();
+    private final Map<Path, ChannelFile> channelFiles = new ConcurrentHashMap<>();
     //
     // private final BiMap<Key, ChatChannel> channelMap = Maps.synchronizedBiMap(HashBiMap.create());
 
@@ -116,9 +133,12 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
         final ConfigManager config,
         final CarbonMessages carbonMessages,
         final CarbonEventHandler events,
-        @RawChat final Key rawChatKey
+        @RawChat final Key rawChatKey,
+        final ChatDelivery chatDelivery,
+        final ChatTracer chatTracer,
+        @ChatPipeline final ExecutorService pipelineExecutor
     ) {
-        super(events, carbonMessages, config);
+        super(events, carbonMessages, config, chatTracer, pipelineExecutor);
         this.configChannelDir = dataDirectory.resolve("channels");
         this.injector = injector;
         this.logger = logger;
@@ -126,6 +146,7 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
         this.carbonMessages = carbonMessages;
         this.eventHandler = events;
         this.rawChatKey = rawChatKey;
+        this.chatDelivery = chatDelivery;
 
         if (config.primaryConfig().partyChat().enabled) {
             this.registerSpecialConfigChannel(PartyChatChannel.FILE_NAME, PartyChatChannel.class);
@@ -177,25 +198,27 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
         }
 
         final Set<Key> oldConfigChannels = Set.copyOf(this.configChannels);
-        this.configChannels.clear();
-
         final Registry<Key, ChatChannel> oldRegistry = this.channelRegistry;
-        this.channelRegistry = newRegistry;
 
-        this.loadConfigChannels_(this.carbonMessages);
+        // Build the new registry completely before swapping it in, so chat never sees it half loaded
+        final Set<Key> loadedConfigChannels = this.loadConfigChannels_(this.carbonMessages, newRegistry);
 
         // Re-add any deleted channels; users must restart for them to be removed
         // (don't want to leave behind commands that just error, or confuse addons)
         for (final Key old : oldConfigChannels) {
-            if (!this.configChannels.contains(old)) {
-                this.configChannels.add(old);
-                this.channelRegistry.register(old, oldRegistry.getHolder(old).valueOrThrow());
+            if (!loadedConfigChannels.contains(old)) {
+                loadedConfigChannels.add(old);
+                newRegistry.register(old, oldRegistry.getHolder(old).valueOrThrow());
                 this.logger.warn("The config file for channel [{}] was deleted, but removing " +
                     "channels at runtime is not currently supported. You must restart the plugin " +
                     "for the removal to take effect.", old);
             }
         }
 
+        this.channelRegistry = newRegistry;
+        this.configChannels.clear();
+        this.configChannels.addAll(loadedConfigChannels);
+
         // Determine new channels and fire event if needed
         final Set<Key> newConfigChannels = new HashSet<>();
         for (final Key configChannel : this.configChannels) {
@@ -209,11 +232,11 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
     }
 
     public void loadConfigChannels(final CarbonMessages messages) {
-        this.loadConfigChannels_(messages);
+        this.configChannels.addAll(this.loadConfigChannels_(messages, this.channelRegistry));
         this.eventHandler.emit(new ChannelRegisterEventImpl(this, Set.copyOf(this.configChannels)));
     }
 
-    private void loadConfigChannels_(final CarbonMessages messages) {
+    private Set<Key> loadConfigChannels_(final CarbonMessages messages, final Registry<Key, ChatChannel> registry) {
         this.logger.info("Loading config channels...");
         this.defaultKey = this.config.primaryConfig().defaultChannel();
 
@@ -234,44 +257,50 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
             channelConfigs = FileUtil.listDirectoryEntries(this.configChannelDir, "*.conf");
         }
 
-        for (final Path channelConfigFile : channelConfigs) {
-            final String fileName = channelConfigFile.getFileName().toString();
-            if (!fileName.endsWith(".conf")) {
-                continue;
-            }
+        final Map<Path, @Nullable LoadedChannel> loaded = this.loadChannels(channelConfigs);
+        final Set<Key> loadedKeys = new HashSet<>();
+        int reused = 0;
 
-            final @Nullable ChatChannel chatChannel = this.loadChannel(channelConfigFile);
-            if (chatChannel == null) {
+        for (final Map.Entry<Path, @Nullable LoadedChannel> entry : loaded.entrySet()) {
+            final Path channelConfigFile = entry.getKey();
+            final @Nullable LoadedChannel loadedChannel = entry.getValue();
+            if (loadedChannel == null) {
                 continue;
             }
+            final ChatChannel chatChannel = loadedChannel.channel();
             final Key channelKey = chatChannel.key();
             if (this.defaultKey.equals(channelKey)) {
                 this.logger.info("Default channel is [{}]", channelKey);
             }
 
-            if (this.channelRegistry.keys().contains(channelKey)) {
+            if (registry.keys().contains(channelKey)) {
                 this.logger.warn("Channel with key [{}] has already been registered, skipping {}", channelKey, channelConfigFile);
                 continue;
             }
 
-            this.injector.injectMembers(chatChannel);
-            this.configChannels.add(chatChannel.key());
-            this.register(chatChannel, false);
+            if (loadedChannel.unchanged()) {
+                reused++;
+            } else {
+                this.injector.injectMembers(chatChannel);
+            }
+            loadedKeys.add(channelKey);
+            this.register(registry, chatChannel);
         }
 
-        if (this.channel(this.defaultKey) == null) {
+        if (registry.getHolder(this.defaultKey) == null) {
             this.logger.warn("No default channel found! Default channel key: [{}]", this.defaultKey());
         }
 
         final List<String> channelList = new ArrayList<>();
 
-        for (final Key key : this.keys()) {
+        for (final Key key : registry.keys()) {
             channelList.add(key.asString());
         }
 
         final String channels = String.join(", ", channelList);
 
-        this.logger.info("Registered channels: [{}]", channels);
+        this.logger.info("Registered channels: [{}] ({} unchanged)", channels, reused);
+        return loadedKeys;
     }
 
     private void saveSpecialDefaults() {
@@ -305,29 +334,81 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
         }
     }
 
-    private @Nullable ChatChannel loadChannel(final Path channelFile) {
+    // Parsing, upgrading and re-saving are independent per file, so spread them over a few threads.
+    // Registration stays in file order on the calling thread.
+    private Map<Path, @Nullable LoadedChannel> loadChannels(final List<Path> channelConfigs) {
+        final List<Path> files = channelConfigs.stream()
+            .filter(file -> file.getFileName().toString().endsWith(".conf"))
+            .toList();
+        this.channelFiles.keySet().retainAll(files);
+        final Map<Path, @Nullable LoadedChannel> loaded = new LinkedHashMap<>();
+        if (files.size() < 2) {
+            files.forEach(file -> loaded.put(file, this.loadChannel(file)));
+            return loaded;
+        }
+
+        final int threads = Math.min(files.size(), Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, ConcurrentUtil.carbonThreadFactory(this.logger, "Channel Loading"));
+        try {
+            final Map<Path, CompletableFuture<@Nullable LoadedChannel>> futures = new LinkedHashMap<>();
+            for (final Path file : files) {
+                futures.put(file, CompletableFuture.supplyAsync(() -> this.loadChannel(file), executor));
+            }
+            futures.forEach((file, future) -> loaded.put(file, future.join()));
+        } finally {
+            ConcurrentUtil.shutdownExecutor(executor, TimeUnit.MILLISECONDS, 500);
+        }
+        return loaded;
+    }
+
+    private @Nullable LoadedChannel loadChannel(final Path channelFile) {
+        // Channels whose file hasn't changed since it was last loaded are kept as they are, along with
+        // everything they've built lazily, such as compiled formats
+        final byte @Nullable [] digest = this.digest(channelFile);
+        final @Nullable ChannelFile previous = this.channelFiles.get(channelFile);
+        if (digest != null && previous != null && MessageDigest.isEqual(digest, previous.digest())) {
+            return new LoadedChannel(previous.channel(), true);
+        }
+
         try {
             final @Nullable SpecialHandler<?> special = this.handlers.get(channelFile.getFileName().toString());
             final Class<? extends ConfigChatChannel> type = special == null ? ConfigChatChannel.class : special.cls();
 
             final ConfigurationLoader<?> loader = this.config.configurationLoader(channelFile, ConfigManager.extractHeader(type));
-            final ConfigurationNode loaded = upgradeConfigChatChannelNode(loader.load());
+            final ConfigurationNode raw = loader.load();
+            final ConfigurationNode original = raw.copy();
+            final ConfigurationNode loaded = upgradeConfigChatChannelNode(raw);
             final @Nullable ConfigChatChannel channel = loaded.get(type);
             if (channel == null) {
                 throw new ConfigurateException("Config deserialized to null.");
             }
 
             loaded.set(type, channel);
-            loader.save(loaded);
+            ConfigManager.saveIfChanged(loader, original, loaded);
 
-            return channel;
+            // Digest after saving, as upgrading may have rewritten the file
+            final byte @Nullable [] saved = this.digest(channelFile);
+            if (saved != null) {
+                this.channelFiles.put(channelFile, new ChannelFile(saved, channel));
+            }
+            return new LoadedChannel(channel, false);
         } catch (final ConfigurateException exception) {
+            this.channelFiles.remove(channelFile);
             this.logger.warn("Failed to load channel from file '{}'", channelFile, exception);
         }
 
         return null;
     }
 
+    private byte @Nullable [] digest(final Path file) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+        } catch (final IOException | NoSuchAlgorithmException exception) {
+            this.logger.warn("Failed to read channel file '{}'", file, exception);
+            return null;
+        }
+    }
+
     private void sendMessageInChannelAsConsole(
         final Audience sender,
         final ChatChannel channel,
@@ -347,9 +428,8 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
             return;
         }
 
-        for (final Audience recipient : chatEvent.recipients()) {
-            message.sendMessage(recipient, ChatType.chatType(this.rawChatKey), chatEvent.renderFor(recipient));
-        }
+        this.chatDelivery.deliver(chatEvent, chatEvent.recipients(), (recipient, rendered) ->
+            message.sendMessage(recipient, ChatType.chatType(this.rawChatKey), rendered));
     }
 
     private void registerChannelCommands(final ChatChannel channel) {
@@ -437,15 +517,19 @@ public class CarbonChannelRegistry extends ChatListenerInternal implements Chann
     }
 
     public void register(final ChatChannel channel, final boolean fireRegisterEvent) {
-        this.channelRegistry.register(channel.key(), channel);
-        if (channel.shouldRegisterCommands()) {
-            this.registerChannelCommands(channel);
-        }
+        this.register(this.channelRegistry, channel);
         if (fireRegisterEvent) {
             this.eventHandler.emit(new ChannelRegisterEventImpl(this, Set.of(channel.key())));
         }
     }
 
+    private void register(final Registry<Key, ChatChannel> registry, final ChatChannel channel) {
+        registry.register(channel.key(), channel);
+        if (channel.shouldRegisterCommands()) {
+            this.registerChannelCommands(channel);
+        }
+    }
+
     @Override
     public @Nullable ChatChannel channel(final Key key) {
         final @Nullable Holder<Key, ChatChannel> holder = this.channelRegistry.getHolder(key);
@@ -20,37 +20,24 @@
 package net.draycia.carbon.common.channels;
 
 import com.google.inject.Inject;
-import io.leangen.geantyref.TypeToken;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 import net.draycia.carbon.api.CarbonServer;
 import net.draycia.carbon.api.channels.ChannelPermissionResult;
 import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.channels.messages.ChannelFormatCache;
 import net.draycia.carbon.common.channels.messages.ConfigChannelMessageSource;
 import net.draycia.carbon.common.channels.messages.ConfigChannelMessages;
+import net.draycia.carbon.common.channels.messages.DirectConfigChannelMessages;
 import net.draycia.carbon.common.messages.CarbonMessageRenderer;
 import net.draycia.carbon.common.messages.CarbonMessages;
 import net.draycia.carbon.common.messages.SourcedAudience;
-import net.draycia.carbon.common.messages.SourcedMessageSender;
-import net.draycia.carbon.common.messages.SourcedReceiverResolver;
-import net.draycia.carbon.common.messages.placeholders.BooleanPlaceholderResolver;
-import net.draycia.carbon.common.messages.placeholders.ComponentPlaceholderResolver;
-import net.draycia.carbon.common.messages.placeholders.IntPlaceholderResolver;
-import net.draycia.carbon.common.messages.placeholders.KeyPlaceholderResolver;
-import net.draycia.carbon.common.messages.placeholders.StringPlaceholderResolver;
-import net.draycia.carbon.common.messages.placeholders.UUIDPlaceholderResolver;
-import net.draycia.carbon.common.util.Exceptions;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
-import net.kyori.moonshine.Moonshine;
-import net.kyori.moonshine.exception.scan.UnscannableMethodException;
-import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
-import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -69,6 +56,7 @@ public class ConfigChatChannel implements ChatChannel {
 
     protected transient @MonotonicNonNull @Inject CarbonServer server;
     private transient @MonotonicNonNull @Inject CarbonMessageRenderer renderer;
+    private transient @MonotonicNonNull @Inject ChannelFormatCache formatCache;
     protected transient @MonotonicNonNull @Inject CarbonMessages messages;
 
     @Comment("""
@@ -195,31 +183,14 @@ public class ConfigChatChannel implements ChatChannel {
     }
 
     private ConfigChannelMessages loadMessages() {
-        final SourcedReceiverResolver serverReceiverResolver = new SourcedReceiverResolver();
-        final ComponentPlaceholderResolver<SourcedAudience> componentPlaceholderResolver = new ComponentPlaceholderResolver<>();
-        final UUIDPlaceholderResolver<SourcedAudience> uuidPlaceholderResolver = new UUIDPlaceholderResolver<>();
-        final StringPlaceholderResolver<SourcedAudience> stringPlaceholderResolver = new StringPlaceholderResolver<>();
-        final KeyPlaceholderResolver<SourcedAudience> keyPlaceholderResolver = new KeyPlaceholderResolver<>();
-        final BooleanPlaceholderResolver<SourcedAudience> booleanPlaceholderResolver = new BooleanPlaceholderResolver<>();
-        final SourcedMessageSender carbonMessageSender = new SourcedMessageSender();
-
-        try {
-            return Moonshine.<ConfigChannelMessages, SourcedAudience>builder(new TypeToken<ConfigChannelMessages>() {})
-                .receiverLocatorResolver(serverReceiverResolver, 0)
-                .sourced(this.messageSource)
-                .rendered(this.renderer.asSourced())
-                .sent(carbonMessageSender)
-                .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(new StandardSupertypeThenInterfaceSupertypeStrategy(false)))
-                .weightedPlaceholderResolver(Component.class, componentPlaceholderResolver, 0)
-                .weightedPlaceholderResolver(UUID.class, uuidPlaceholderResolver, 0)
-                .weightedPlaceholderResolver(String.class, stringPlaceholderResolver, 0)
-                .weightedPlaceholderResolver(Integer.class, new IntPlaceholderResolver<>(), 0)
-                .weightedPlaceholderResolver(Key.class, keyPlaceholderResolver, 0)
-                .weightedPlaceholderResolver(Boolean.class, booleanPlaceholderResolver, 0)
-                .create(this.getClass().getClassLoader());
-        } catch (final UnscannableMethodException e) {
-            throw Exceptions.rethrow(e);
+        final ConfigChannelMessageSource source = requireNonNull(this.messageSource, "messageSource");
+        if (this.formatCache != null) {
+            source.formatCache(this.formatCache);
         }
+        return new DirectConfigChannelMessages(
+            source,
+            requireNonNull(this.renderer, "renderer").asSourced()
+        );
     }
 
     protected ConfigChannelMessages carbonMessages() {
@@ -65,7 +65,7 @@ public class PartyChatChannel extends ConfigChatChannel {
     @Override
     public ChannelPermissionResult speechPermitted(final CarbonPlayer player) {
         return channelPermissionResult(
-            player.party().join() != null,
+            inParty(player),
             () -> this.messages.cannotUsePartyChannel(player)
         );
     }
@@ -73,7 +73,7 @@ public class PartyChatChannel extends ConfigChatChannel {
     @Override
     public ChannelPermissionResult hearingPermitted(final CarbonPlayer player) {
         return channelPermissionResult(
-            player.party().join() != null,
+            inParty(player),
             () -> this.messages.cannotUsePartyChannel(player)
         );
     }
@@ -100,7 +100,9 @@ public class PartyChatChannel extends ConfigChatChannel {
         final Component message,
         final Component originalMessage
     ) {
-        final @Nullable Party party = sender.party().join();
+        // loaded with the sender ahead of the pipeline and kept loaded while members are online, may still be
+        // loading when a message skips that path (e.g. a channel command), in which case the name is left empty
+        final @Nullable Party party = sender.party().getNow(null);
         return this.carbonMessages().chatFormat(
             SourcedAudience.of(sender, recipient),
             sender.uuid(),
@@ -108,8 +110,15 @@ public class PartyChatChannel extends ConfigChatChannel {
             sender.displayName(),
             sender.username(),
             message,
-            party == null ? Component.text("null") : party.name()
+            party == null ? Component.empty() : party.name()
         );
     }
 
+    private static boolean inParty(final CarbonPlayer player) {
+        if (player instanceof WrappedCarbonPlayer wrapped) {
+            return wrapped.partyId() != null;
+        }
+        return player.party().getNow(null) != null;
+    }
+
 }
@@ -0,0 +1,148 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.channels.messages;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import net.draycia.carbon.api.event.CarbonEventHandler;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.PluginInstance;
+import net.draycia.carbon.common.event.events.CarbonReloadEvent;
+import net.draycia.carbon.common.metrics.Metrics;
+import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.event.EventBus;
+import net.luckperms.api.event.context.ContextUpdateEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Shared state for caching resolved channel formats in each {@link ConfigChannelMessageSource}.
+ *
+ * <p>Formats depend on the sender's groups and the recipient's locale. Looking up groups through
+ * LuckPerms allocates, so each player's groups are kept as a {@link Fingerprint} until LuckPerms
+ * recalculates their data or their contexts change. Sources cache formats by fingerprint and locale, and drop their caches
+ * when the {@link #generation()} changes on reload.</p>
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class ChannelFormatCache {
+
+    private final Logger logger;
+    private final Object plugin;
+    private final Cache<UUID, Fingerprint> fingerprints = Caffeine.newBuilder()
+        // Groups can depend on context, which is only partly tracked below, so bound how long a stale entry can live
+        .expireAfterWrite(Duration.ofMinutes(1))
+        .build();
+    private final Metrics.Counter hits;
+    private final Metrics.Counter misses;
+    private volatile int generation;
+    private volatile boolean subscribed;
+
+    @Inject
+    private ChannelFormatCache(
+        final Logger logger,
+        final @PluginInstance Object plugin,
+        final Metrics metrics,
+        final CarbonEventHandler events
+    ) {
+        this.logger = logger;
+        this.plugin = plugin;
+        this.hits = metrics.counter("carbon_channel_format_cache_hits_total", "Channel formats served from the format cache.");
+        this.misses = metrics.counter("carbon_channel_format_cache_misses_total", "Channel formats resolved from the channel config.");
+        events.subscribe(CarbonReloadEvent.class, -99, true, event -> {
+            this.fingerprints.invalidateAll();
+            this.generation++;
+        });
+    }
+
+    public int generation() {
+        return this.generation;
+    }
+
+    public void hit() {
+        this.hits.increment();
+    }
+
+    public void miss() {
+        this.misses.increment();
+    }
+
+    /**
+     * Gets the groups of a player, as of the last time LuckPerms calculated their data.
+     *
+     * @param player player
+     * @return the player's groups
+     */
+    public Fingerprint fingerprint(final CarbonPlayer player) {
+        if (!(player instanceof WrappedCarbonPlayer)) {
+            return Fingerprint.of(player);
+        }
+        if (!this.subscribed) {
+            this.subscribe();
+        }
+        return this.fingerprints.get(player.uuid(), $ -> Fingerprint.of(player));
+    }
+
+    private synchronized void subscribe() {
+        if (this.subscribed) {
+            return;
+        }
+        this.subscribed = true;
+        try {
+            final EventBus eventBus = LuckPermsProvider.get().getEventBus();
+            eventBus.subscribe(this.plugin, UserDataRecalculateEvent.class,
+                event -> this.fingerprints.invalidate(event.getUser().getUniqueId()));
+            // Inherited groups are resolved with the player's current contexts, i.e. world or server
+            eventBus.subscribe(this.plugin, ContextUpdateEvent.class, event -> {
+                if (event.getSubject() instanceof Audience player) {
+                    player.get(Identity.UUID).ifPresent(this.fingerprints::invalidate);
+                }
+            });
+        } catch (final IllegalStateException | LinkageError ex) {
+            // Without LuckPerms everyone is in the default group, so there is nothing to invalidate
+            this.logger.debug("LuckPerms is not available, group changes will not be tracked for chat formats");
+        }
+    }
+
+    /**
+     * A player's primary group and inherited groups.
+     *
+     * @param primaryGroup primary group
+     * @param groups       inherited groups, in LuckPerms order
+     */
+    public record Fingerprint(String primaryGroup, List<String> groups) {
+
+        static Fingerprint of(final CarbonPlayer player) {
+            return new Fingerprint(player.primaryGroup(), List.copyOf(player.groups()));
+        }
+
+    }
+
+}
@@ -22,6 +22,7 @@ package net.draycia.carbon.common.channels.messages;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.common.messages.SourcedAudience;
 import net.draycia.carbon.common.util.DiscordRecipient;
@@ -71,6 +72,21 @@ public class ConfigChannelMessageSource implements IMessageSource<SourcedAudienc
     public Map<Locale, Map<String, String>> locales = Map.of(Locale.getDefault(), Map.of());
 
     private static final String FALLBACK_FORMAT = "<red><</red><username><red>></red> <message>";
+    private static final int MAX_CACHED_FORMATS = 1024;
+
+    private final transient Map<FormatKey, String> resolvedFormats = new ConcurrentHashMap<>();
+    private transient volatile @Nullable ChannelFormatCache formatCache;
+    private transient volatile int generation;
+
+    /**
+     * Enables caching resolved formats, for sources belonging to a registered channel.
+     *
+     * @param formatCache format cache
+     */
+    public void formatCache(final ChannelFormatCache formatCache) {
+        this.formatCache = formatCache;
+        this.generation = formatCache.generation();
+    }
 
     // TODO: Remove DiscordRecipient and use key instead (Couldn't figure out how to do it)
     @Override
@@ -88,8 +104,35 @@ public class ConfigChannelMessageSource implements IMessageSource<SourcedAudienc
         final var sender = (CarbonPlayer) sourcedAudience.sender();
         final var recipient = (CarbonPlayer) sourcedAudience.recipient();
 
-        if (recipient.locale() != null) {
-            final var formats = this.locales.get(recipient.locale());
+        final @Nullable ChannelFormatCache cache = this.formatCache;
+        if (cache == null) {
+            return this.resolve(ChannelFormatCache.Fingerprint.of(sender), recipient.locale());
+        }
+
+        if (this.generation != cache.generation()) {
+            this.resolvedFormats.clear();
+            this.generation = cache.generation();
+        }
+
+        final FormatKey key = new FormatKey(cache.fingerprint(sender), recipient.locale());
+        final @Nullable String cached = this.resolvedFormats.get(key);
+        if (cached != null) {
+            cache.hit();
+            return cached;
+        }
+
+        cache.miss();
+        final String format = this.resolve(key.fingerprint(), key.locale());
+        // Group combinations are few in practice, the bound only guards against unusual setups
+        if (this.resolvedFormats.size() < MAX_CACHED_FORMATS) {
+            this.resolvedFormats.put(key, format);
+        }
+        return format;
+    }
+
+    private String resolve(final ChannelFormatCache.Fingerprint sender, final @Nullable Locale locale) {
+        if (locale != null) {
+            final var formats = this.locales.get(locale);
 
             if (formats != null) {
                 final @Nullable String format = formats.get(sender.primaryGroup());
@@ -129,4 +172,7 @@ public class ConfigChannelMessageSource implements IMessageSource<SourcedAudienc
         return Objects.requireNonNullElse(this.defaults.get("console"), FALLBACK_FORMAT);
     }
 
+    private record FormatKey(ChannelFormatCache.Fingerprint fingerprint, @Nullable Locale locale) {
+    }
+
 }
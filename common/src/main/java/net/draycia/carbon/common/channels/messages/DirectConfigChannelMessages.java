@@ -0,0 +1,88 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.channels.messages;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import net.draycia.carbon.common.messages.SourcedAudience;
+import net.draycia.carbon.common.util.Exceptions;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.moonshine.message.IMessageRenderer;
+import net.kyori.moonshine.message.IMessageSource;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Direct implementation of {@link ConfigChannelMessages}, producing the same placeholders a Moonshine
+ * proxy would without reflection or placeholder resolution per call.
+ *
+ * <p>Channel formats are rendered once per recipient of every chat message, so this skips the proxy
+ * on the hottest message path. Keep it in sync with the annotations on {@link ConfigChannelMessages}.</p>
+ */
+@DefaultQualifier(NonNull.class)
+public final class DirectConfigChannelMessages implements ConfigChannelMessages {
+
+    private static final Method CHAT_FORMAT;
+
+    static {
+        try {
+            CHAT_FORMAT = ConfigChannelMessages.class.getMethod(
+                "chatFormat", SourcedAudience.class, UUID.class, Key.class, Component.class, String.class, Component.class, Component.class);
+        } catch (final NoSuchMethodException ex) {
+            throw Exceptions.rethrow(ex);
+        }
+    }
+
+    private final IMessageSource<SourcedAudience, String> source;
+    private final IMessageRenderer<SourcedAudience, String, Component, Object> renderer;
+
+    public DirectConfigChannelMessages(
+        final IMessageSource<SourcedAudience, String> source,
+        final IMessageRenderer<SourcedAudience, String, Component, Object> renderer
+    ) {
+        this.source = source;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public Component chatFormat(
+        final SourcedAudience audience,
+        final UUID uuid,
+        final Key channel,
+        final Component displayName,
+        final String username,
+        final Component message,
+        final Component partyName
+    ) {
+        final Map<String, Tag> placeholders = Map.of(
+            "uuid", Tag.preProcessParsed(uuid.toString()),
+            "channel", Tag.preProcessParsed(channel.asString()),
+            "display_name", Tag.selfClosingInserting(displayName),
+            "username", Tag.preProcessParsed(username),
+            "message", Tag.selfClosingInserting(message),
+            "party_name", Tag.selfClosingInserting(partyName)
+        );
+        return this.renderer.render(audience, this.source.messageOf(audience, "channel.format"), placeholders, CHAT_FORMAT, ConfigChannelMessages.class);
+    }
+
+}
@@ -20,7 +20,10 @@
 package net.draycia.carbon.common.command.commands;
 
 import com.google.inject.Inject;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.common.command.CarbonCommand;
 import net.draycia.carbon.common.command.CommandSettings;
@@ -28,6 +31,8 @@ import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.ParserFactory;
 import net.draycia.carbon.common.command.PlayerCommander;
 import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.metrics.ChatTrace;
+import net.draycia.carbon.common.metrics.ChatTracer;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
@@ -41,19 +46,24 @@ import static org.incendo.cloud.minecraft.extras.RichDescription.richDescription
 @DefaultQualifier(NonNull.class)
 public final class DebugCommand extends CarbonCommand {
 
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
     private final CommandManager<Commander> commandManager;
     private final CarbonMessages carbonMessages;
     private final ParserFactory parserFactory;
+    private final ChatTracer chatTracer;
 
     @Inject
     public DebugCommand(
         final CommandManager<Commander> commandManager,
         final CarbonMessages carbonMessages,
-        final ParserFactory parserFactory
+        final ParserFactory parserFactory,
+        final ChatTracer chatTracer
     ) {
         this.commandManager = commandManager;
         this.carbonMessages = carbonMessages;
         this.parserFactory = parserFactory;
+        this.chatTracer = chatTracer;
     }
 
     @Override
@@ -111,6 +121,34 @@ public final class DebugCommand extends CarbonCommand {
             .build();
 
         this.commandManager.command(command);
+
+        final var traces = this.commandManager.commandBuilder(this.commandSettings().name(), this.commandSettings().aliases())
+            .literal("traces")
+            .permission("carbon.debug.traces")
+            .senderType(Commander.class)
+            .commandDescription(richDescription(this.carbonMessages.commandDebugTracesDescription()))
+            .handler(handler -> {
+                final List<ChatTrace> recent = this.chatTracer.recent();
+                if (recent.isEmpty()) {
+                    handler.sender().sendMessage(Component.text("No chat traces recorded. Is tracing enabled in config.conf?", NamedTextColor.RED));
+                    return;
+                }
+
+                for (final ChatTrace trace : recent) {
+                    handler.sender().sendMessage(
+                        Component.join(JoinConfiguration.noSeparators(),
+                            Component.text(TIME_FORMAT.format(trace.startedAt()) + " ", NamedTextColor.GRAY),
+                            Component.text(trace.subject(), NamedTextColor.GOLD),
+                            Component.text(" " + trace.totalMillis() + "ms", NamedTextColor.GREEN))
+                    );
+                    for (final ChatTrace.Stage stage : trace.stages()) {
+                        handler.sender().sendMessage(Component.text("  " + stage.describe(), NamedTextColor.YELLOW));
+                    }
+                }
+            })
+            .build();
+
+        this.commandManager.command(traces);
     }
 
 }
@@ -20,9 +20,10 @@
 package net.draycia.carbon.common.command.commands;
 
 import com.google.inject.Inject;
-import java.util.function.Supplier;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import net.draycia.carbon.api.users.CarbonPlayer;
-import net.draycia.carbon.api.users.UserManager;
 import net.draycia.carbon.common.command.CarbonCommand;
 import net.draycia.carbon.common.command.CommandSettings;
 import net.draycia.carbon.common.command.Commander;
@@ -43,19 +44,16 @@ import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
 @DefaultQualifier(NonNull.class)
 public final class IgnoreListCommand extends CarbonCommand {
 
-    private final UserManager<?> users;
     private final CommandManager<Commander> commandManager;
     private final CarbonMessages messages;
     private final PaginationHelper pagination;
 
     @Inject
     public IgnoreListCommand(
-        final UserManager<?> userManager,
         final CommandManager<Commander> commandManager,
         final CarbonMessages messages,
         final PaginationHelper pagination
     ) {
-        this.users = userManager;
         this.commandManager = commandManager;
         this.messages = messages;
         this.pagination = pagination;
@@ -78,37 +76,34 @@ public final class IgnoreListCommand extends CarbonCommand {
             .senderType(PlayerCommander.class)
             .optional("page", integerParser(1), DefaultValue.constant(1))
             .commandDescription(richDescription(this.messages.commandIgnoreListDescription()))
-            .handler(this::execute)
+            .futureHandler(this::execute)
             .build();
 
         this.commandManager.command(command);
     }
 
-    private void execute(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> execute(final CommandContext<PlayerCommander> ctx) {
         final CarbonPlayer sender = ctx.sender().carbonPlayer();
-        final var elements = sender.ignoring().stream()
+        final List<UUID> elements = sender.ignoring().stream()
             .sorted() // this way page numbers make sense
-            .map(id -> (Supplier<CarbonPlayer>) () -> this.users.user(id).join())
             .toList();
 
         if (elements.isEmpty()) {
             this.messages.commandIgnoreListNoneIgnored(sender);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        final Pagination<Supplier<CarbonPlayer>> pagination = Pagination.<Supplier<CarbonPlayer>>builder()
+        final Pagination<CarbonPlayer> pagination = Pagination.<CarbonPlayer>builder()
             .header(this.messages::commandIgnoreListPaginationHeader)
-            .item((e, lastOfPage) -> {
-                final CarbonPlayer p = e.get();
-                return this.messages.commandIgnoreListPaginationElement(p.displayName(), p.username());
-            })
+            .item((p, lastOfPage) -> this.messages.commandIgnoreListPaginationElement(p.displayName(), p.username()))
             .footer(this.pagination.footerRenderer(p -> "/" + this.commandSettings().name() + " " + p))
             .pageOutOfRange(this.messages::paginationOutOfRange)
             .build();
 
         final int page = ctx.get("page");
 
-        pagination.render(elements, page, 6).forEach(sender::sendMessage);
+        return pagination.render(elements, page, 6, this.pagination::resolvePlayers)
+            .thenAccept(lines -> lines.forEach(sender::sendMessage));
     }
 
 }
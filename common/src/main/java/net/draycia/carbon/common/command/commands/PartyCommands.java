@@ -22,10 +22,10 @@ package net.draycia.carbon.common.command.commands;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.inject.Inject;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Supplier;
+import java.util.concurrent.CompletableFuture;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.users.Party;
 import net.draycia.carbon.common.command.CarbonCommand;
@@ -97,7 +97,7 @@ public final class PartyCommands extends CarbonCommand {
         final var root = this.commandManager.commandBuilder(this.commandSettings().name(), this.commandSettings().aliases())
             .senderType(PlayerCommander.class)
             .permission("carbon.parties");
-        final var info = root.commandDescription(richDescription(this.messages.partyDesc())).handler(this::info);
+        final var info = root.commandDescription(richDescription(this.messages.partyDesc())).futureHandler(this::info);
 
         this.commandManager.command(info);
         this.commandManager.command(info.literal("page")
@@ -106,29 +106,29 @@ public final class PartyCommands extends CarbonCommand {
             root.literal("create")
                 .commandDescription(richDescription(this.messages.partyCreateDesc()))
                 .optional("name", greedyStringParser())
-                .handler(this::createParty)
+                .futureHandler(this::createParty)
         );
         this.commandManager.command(
             root.literal("invite")
                 .commandDescription(richDescription(this.messages.partyInviteDesc()))
                 .required("player", this.parserFactory.carbonPlayer())
-                .handler(this::invitePlayer)
+                .futureHandler(this::invitePlayer)
         );
         this.commandManager.command(
             root.literal("accept")
                 .commandDescription(richDescription(this.messages.partyAcceptDesc()))
                 .optional("sender", this.parserFactory.carbonPlayer())
-                .handler(this::acceptInvite)
+                .futureHandler(this::acceptInvite)
         );
         this.commandManager.command(
             root.literal("leave")
                 .commandDescription(richDescription(this.messages.partyLeaveDesc()))
-                .handler(this::leaveParty)
+                .futureHandler(this::leaveParty)
         );
         this.commandManager.command(
             root.literal("disband")
                 .commandDescription(richDescription(this.messages.partyDisbandDesc()))
-                .handler(this::disbandParty)
+                .futureHandler(this::disbandParty)
         );
     }
 
@@ -142,159 +142,170 @@ public final class PartyCommands extends CarbonCommand {
         return Key.key("carbon", "party");
     }
 
-    private void info(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> info(final CommandContext<PlayerCommander> ctx) {
         final CarbonPlayer player = ctx.sender().carbonPlayer();
-        final @Nullable Party party = player.party().join();
-        if (party == null) {
-            this.messages.notInParty(player);
-            return;
-        }
+        return player.party().thenCompose(party -> {
+            if (party == null) {
+                this.messages.notInParty(player);
+                return CompletableFuture.completedFuture(null);
+            }
+            return this.info(ctx, player, party);
+        });
+    }
+
+    private CompletableFuture<Void> info(final CommandContext<PlayerCommander> ctx, final CarbonPlayer player, final Party party) {
 
         this.messages.currentParty(player, party.name());
 
-        final var elements = party.members().stream()
+        final List<UUID> elements = party.members().stream()
             .sorted(Comparator.<UUID, Boolean>comparing(this.network::online).reversed().thenComparing(UUID::compareTo))
-            .map(id -> (Supplier<CarbonPlayer>) () -> this.userManager.user(id).join())
             .toList();
 
         if (elements.isEmpty()) {
             throw new IllegalStateException();
         }
 
-        final Pagination<Supplier<CarbonPlayer>> pagination = Pagination.<Supplier<CarbonPlayer>>builder()
+        final Pagination<CarbonPlayer> pagination = Pagination.<CarbonPlayer>builder()
             .header((page, pages) -> this.messages.commandPartyPaginationHeader(party.name()))
-            .item((e, lastOfPage) -> {
-                final CarbonPlayer p = e.get();
-                return this.messages.commandPartyPaginationElement(p.displayName(), p.username(), new Option(this.network.online(p)));
-            })
+            .item((p, lastOfPage) -> this.messages.commandPartyPaginationElement(p.displayName(), p.username(), new Option(this.network.online(p))))
             .footer(this.pagination.footerRenderer(p -> "/" + this.commandSettings().name() + " page " + p))
             .pageOutOfRange(this.messages::paginationOutOfRange)
             .build();
 
         final int page = ctx.getOrDefault("page", 1);
 
-        pagination.render(elements, page, 6).forEach(player::sendMessage);
+        return pagination.render(elements, page, 6, this.pagination::resolvePlayers)
+            .thenAccept(lines -> lines.forEach(player::sendMessage));
     }
 
-    private void createParty(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> createParty(final CommandContext<PlayerCommander> ctx) {
         final CarbonPlayer player = ctx.sender().carbonPlayer();
-        final @Nullable Party oldParty = player.party().join();
-        if (oldParty != null) {
-            this.messages.mustLeavePartyFirst(player);
-            return;
-        }
-        final String name = ctx.getOrDefault("name", player.username() + "'s party");
-        final Component component = TagPermissions.parseTags(TagPermissions.PARTY_NAME, name, player::hasPermission);
-        final Party party;
-        try {
-            party = this.userManager.createParty(component);
-        } catch (final IllegalArgumentException e) {
-            this.messages.partyNameTooLong(player);
-            return;
-        }
-        party.addMember(player.uuid());
-        this.messages.partyCreated(player, party.name());
+        return player.party().thenAccept(oldParty -> {
+            if (oldParty != null) {
+                this.messages.mustLeavePartyFirst(player);
+                return;
+            }
+            final String name = ctx.getOrDefault("name", player.username() + "'s party");
+            final Component component = TagPermissions.parseTags(TagPermissions.PARTY_NAME, name, player::hasPermission);
+            final Party party;
+            try {
+                party = this.userManager.createParty(component);
+            } catch (final IllegalArgumentException e) {
+                this.messages.partyNameTooLong(player);
+                return;
+            }
+            party.addMember(player.uuid());
+            this.messages.partyCreated(player, party.name());
+        });
     }
 
-    private void invitePlayer(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> invitePlayer(final CommandContext<PlayerCommander> ctx) {
         final CarbonPlayer player = ctx.sender().carbonPlayer();
         final CarbonPlayer recipient = ctx.get("player");
         if (recipient.uuid().equals(player.uuid())) {
             this.messages.cannotInviteSelf(player);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        final @Nullable Party party = player.party().join();
-        if (party == null) {
-            this.messages.mustBeInParty(player);
-            return;
-        }
-        final @Nullable Party recipientParty = recipient.party().join();
-        if (recipientParty != null && recipientParty.id().equals(party.id())) {
-            this.messages.alreadyInParty(player, recipient.displayName());
-            return;
-        }
-        this.partyInvites.sendInvite(player.uuid(), recipient.uuid(), party.id());
-        this.messages.receivedPartyInvite(recipient, player.displayName(), player.username(), party.name());
-        this.messages.sentPartyInvite(player, recipient.displayName(), party.name());
+        return player.party().thenAcceptBoth(recipient.party(), (party, recipientParty) -> {
+            if (party == null) {
+                this.messages.mustBeInParty(player);
+                return;
+            }
+            if (recipientParty != null && recipientParty.id().equals(party.id())) {
+                this.messages.alreadyInParty(player, recipient.displayName());
+                return;
+            }
+            this.partyInvites.sendInvite(player.uuid(), recipient.uuid(), party.id());
+            this.messages.receivedPartyInvite(recipient, player.displayName(), player.username(), party.name());
+            this.messages.sentPartyInvite(player, recipient.displayName(), party.name());
+        });
     }
 
-    private void acceptInvite(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> acceptInvite(final CommandContext<PlayerCommander> ctx) {
         final @Nullable CarbonPlayer sender = ctx.getOrDefault("sender", null);
         final CarbonPlayer player = ctx.sender().carbonPlayer();
-        final @Nullable Invite invite = this.findInvite(player, sender);
-        if (invite == null) {
-            return;
-        }
-        final @Nullable Party old = player.party().join();
-        if (old != null) {
-            this.messages.mustLeavePartyFirst(player);
-            return;
-        }
-        this.partyInvites.invalidateInvite(invite.sender(), player.uuid());
-        invite.party().addMember(player.uuid());
-        this.messages.joinedParty(player, invite.party().name());
+        return this.findInvite(player, sender).thenCompose(invite -> {
+            if (invite == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return player.party().thenAccept(old -> {
+                if (old != null) {
+                    this.messages.mustLeavePartyFirst(player);
+                    return;
+                }
+                this.partyInvites.invalidateInvite(invite.sender(), player.uuid());
+                invite.party().addMember(player.uuid());
+                this.messages.joinedParty(player, invite.party().name());
+            });
+        });
     }
 
-    private void leaveParty(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> leaveParty(final CommandContext<PlayerCommander> ctx) {
         final CarbonPlayer player = ctx.sender().carbonPlayer();
-        final @Nullable Party old = player.party().join();
-        if (old == null) {
-            this.messages.mustBeInParty(player);
-            return;
-        }
-        if (old.members().size() == 1) {
-            this.disbandParty(ctx);
-            return;
-        }
-        old.removeMember(player.uuid());
-        this.messages.leftParty(player, old.name());
+        return player.party().thenCompose(old -> {
+            if (old == null) {
+                this.messages.mustBeInParty(player);
+                return CompletableFuture.completedFuture(null);
+            }
+            if (old.members().size() == 1) {
+                return this.disbandParty(ctx);
+            }
+            old.removeMember(player.uuid());
+            this.messages.leftParty(player, old.name());
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
-    private void disbandParty(final CommandContext<PlayerCommander> ctx) {
+    private CompletableFuture<Void> disbandParty(final CommandContext<PlayerCommander> ctx) {
         final CarbonPlayer player = ctx.sender().carbonPlayer();
-        final @Nullable Party old = player.party().join();
-        if (old == null) {
-            this.messages.mustBeInParty(player);
-            return;
-        }
-        if (old.members().size() != 1) {
-            this.messages.cannotDisbandParty(player, old.name());
-            return;
-        }
-        old.disband();
-        this.messages.disbandedParty(player, old.name());
+        return player.party().thenAccept(old -> {
+            if (old == null) {
+                this.messages.mustBeInParty(player);
+                return;
+            }
+            if (old.members().size() != 1) {
+                this.messages.cannotDisbandParty(player, old.name());
+                return;
+            }
+            old.disband();
+            this.messages.disbandedParty(player, old.name());
+        });
     }
 
-    private @Nullable Invite findInvite(final CarbonPlayer player, final @Nullable CarbonPlayer sender) {
+    private CompletableFuture<@Nullable Invite> findInvite(final CarbonPlayer player, final @Nullable CarbonPlayer sender) {
         final @Nullable Cache<UUID, UUID> cache = this.partyInvites.invitesFor(player.uuid());
         final @Nullable Map<UUID, UUID> map = cache != null ? Map.copyOf(cache.asMap()) : null;
 
         if (map == null || map.isEmpty()) {
             this.messages.noPendingPartyInvites(player);
-            return null;
+            return CompletableFuture.completedFuture(null);
         } else if (sender != null) {
-            final @Nullable Party p = Optional.ofNullable(map.get(sender.uuid()))
-                .map(id -> this.userManager.party(id).join())
-                .orElse(null);
-            if (p == null) {
-                this.messages.noPartyInviteFrom(player, sender.displayName());
-                return null;
-            }
-            return new Invite(sender.uuid(), p);
+            final @Nullable UUID partyId = map.get(sender.uuid());
+            final CompletableFuture<@Nullable Party> party = partyId == null
+                ? CompletableFuture.completedFuture(null)
+                : this.userManager.party(partyId);
+            return party.thenApply(p -> {
+                if (p == null) {
+                    this.messages.noPartyInviteFrom(player, sender.displayName());
+                    return null;
+                }
+                return new Invite(sender.uuid(), p);
+            });
         }
 
         if (map.size() == 1) {
             final Map.Entry<UUID, UUID> e = map.entrySet().iterator().next();
-            final @Nullable Party p = this.userManager.party(e.getValue()).join();
-            if (p == null) {
-                this.messages.noPendingPartyInvites(player);
-                return null;
-            }
-            return new Invite(e.getKey(), p);
+            return this.userManager.party(e.getValue()).thenApply(p -> {
+                if (p == null) {
+                    this.messages.noPendingPartyInvites(player);
+                    return null;
+                }
+                return new Invite(e.getKey(), p);
+            });
         }
 
         this.messages.mustSpecifyPartyInvite(player);
-        return null;
+        return CompletableFuture.completedFuture(null);
     }
 
     private record Invite(UUID sender, Party party) {}
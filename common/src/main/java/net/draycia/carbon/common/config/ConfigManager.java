@@ -173,6 +173,7 @@ public final class ConfigManager {
 
         try {
             final var node = loader.load();
+            final ConfigurationNode original = node.copy();
             try {
                 clazz.getDeclaredMethod("upgrade", ConfigurationNode.class).invoke(null, node);
             } catch (final NoSuchMethodException ignore) {
@@ -182,7 +183,7 @@ public final class ConfigManager {
                 throw new ConfigurateException(node, "Failed to deserialize " + clazz.getName() + " from node");
             }
             node.set(clazz, config);
-            loader.save(node);
+            saveIfChanged(loader, original, node);
             return config;
         } catch (final ConfigurateException | ReflectiveOperationException exception) {
             this.logger.error("Failed to load config '{}'", file, exception);
@@ -190,6 +191,25 @@ public final class ConfigManager {
         }
     }
 
+    /**
+     * Writes {@code updated} back to disk, unless it is identical to what was loaded (i.e. no defaults
+     * were added and no upgrade was applied), avoiding rewriting every config file on each load.
+     *
+     * @param loader   loader the node was loaded with
+     * @param original copy of the node as loaded
+     * @param updated  node after deserializing and re-serializing the config
+     * @throws ConfigurateException when saving fails
+     */
+    public static void saveIfChanged(
+        final ConfigurationLoader<?> loader,
+        final ConfigurationNode original,
+        final ConfigurationNode updated
+    ) throws ConfigurateException {
+        if (!original.equals(updated)) {
+            loader.save(updated);
+        }
+    }
+
     public static <N extends ConfigurationNode> void configVersionComment(
         final N rootNode,
         final ConfigurationTransformation.Versioned versionedTransformation
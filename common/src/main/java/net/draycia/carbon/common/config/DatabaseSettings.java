@@ -38,6 +38,11 @@ public class DatabaseSettings {
         this.password = password;
     }
 
+    public DatabaseSettings(final String url, final String username, final String password, final ConnectionPool connectionPool) {
+        this(url, username, password);
+        this.connectionPool = connectionPool;
+    }
+
     @Comment("""
         JDBC URL. Suggested defaults for each DB:
         MySQL: jdbc:mysql://host:3306/DB
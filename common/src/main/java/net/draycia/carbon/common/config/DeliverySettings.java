@@ -0,0 +1,68 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.config;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+@DefaultQualifier(NonNull.class)
+public class DeliverySettings {
+
+    @Comment("""
+        Whether chat messages with many recipients should be rendered for each recipient in parallel.
+        Messages are still sent in order, from the thread that handled the chat message.
+        Only enable this if all of your chat format placeholders are safe to use from multiple threads.""")
+    private boolean parallelRendering = false;
+
+    @Comment("The minimum number of recipients a message must have before rendering is split across threads.")
+    private int parallelThreshold = 128;
+
+    @Comment("The number of threads used for parallel rendering. '0' uses the number of available processors. Requires a restart to change.")
+    private int parallelThreads = 0;
+
+    @Comment("""
+        Whether Carbon should take over messages sent before the sender's data has loaded, instead of waiting
+        for the load on the chat thread. Only used on Paper. Taken over messages are cancelled, so other plugins
+        won't see them, and are sent as system messages without the player's chat signature.""")
+    private boolean takeOverColdChat = false;
+
+    public boolean parallelRendering() {
+        return this.parallelRendering;
+    }
+
+    public int parallelThreshold() {
+        return Math.max(2, this.parallelThreshold);
+    }
+
+    public int parallelThreads() {
+        if (this.parallelThreads <= 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return this.parallelThreads;
+    }
+
+    public boolean takeOverColdChat() {
+        return this.takeOverColdChat;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.config;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+@DefaultQualifier(NonNull.class)
+public class MetricsSettings {
+
+    @Comment("""
+        Whether Carbon should record metrics about chat, storage and cross-server messaging.
+        Metrics can be viewed with '/carbon metrics'. Recording has next to no overhead while disabled.""")
+    private boolean enabled = false;
+
+    @Comment("Whether to serve the metrics in the Prometheus text format over HTTP. Requires a restart to change.")
+    private boolean httpEnabled = false;
+
+    @Comment("The address the metrics HTTP endpoint binds to. Keep this local unless the port is firewalled.")
+    private String httpAddress = "127.0.0.1";
+
+    @Comment("The port the metrics HTTP endpoint listens on.")
+    private int httpPort = 9464;
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public boolean httpEnabled() {
+        return this.enabled && this.httpEnabled;
+    }
+
+    public String httpAddress() {
+        return this.httpAddress;
+    }
+
+    public int httpPort() {
+        return this.httpPort;
+    }
+
+}
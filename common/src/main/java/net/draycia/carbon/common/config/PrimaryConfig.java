@@ -52,7 +52,8 @@ public class PrimaryConfig {
 
     @Comment("""
         The service that will be used to store and load player information.
-        One of: JSON, H2, MYSQL, PSQL
+        One of: JSON, JSON_SHARDED, H2, MYSQL, PSQL
+        JSON_SHARDED keeps data in a fixed set of compact files instead of one file per player, existing JSON data is migrated automatically.
         Note: If you choose MYSQL or PSQL make sure you configure the "database-settings" section of this file!""")
     private StorageType storageType = StorageType.JSON;
 
@@ -61,9 +62,24 @@ public class PrimaryConfig {
         If JSON or H2 storage is used, this section can be ignored.""")
     private DatabaseSettings databaseSettings = new DatabaseSettings();
 
+    @Comment("""
+        Connection settings for a MYSQL or PSQL database used by "/carbon migrate" when it isn't the active "storage-type",
+        for example the target when migrating from JSON to MYSQL. Must point at a different database than "database-settings".
+        Leave the url empty when not migrating.""")
+    private DatabaseSettings migrationDatabaseSettings = new DatabaseSettings("", "", "");
+
     @Comment("Settings for cross-server messaging")
     private MessagingSettings messagingSettings = new MessagingSettings();
 
+    @Comment("Settings for how chat messages are rendered and delivered to their recipients.")
+    private DeliverySettings deliverySettings = new DeliverySettings();
+
+    @Comment("Settings for Carbon's built-in metrics.")
+    private MetricsSettings metricsSettings = new MetricsSettings();
+
+    @Comment("Settings for tracing slow chat messages.")
+    private TracingSettings tracingSettings = new TracingSettings();
+
     private NicknameSettings nicknameSettings = new NicknameSettings();
 
     @Comment("""
@@ -129,10 +145,26 @@ public class PrimaryConfig {
         return this.databaseSettings;
     }
 
+    public DatabaseSettings migrationDatabaseSettings() {
+        return this.migrationDatabaseSettings;
+    }
+
     public MessagingSettings messagingSettings() {
         return this.messagingSettings;
     }
 
+    public DeliverySettings deliverySettings() {
+        return this.deliverySettings;
+    }
+
+    public MetricsSettings metricsSettings() {
+        return this.metricsSettings;
+    }
+
+    public TracingSettings tracingSettings() {
+        return this.tracingSettings;
+    }
+
     public String applyCustomPlaceholders(final String string) {
         String placeholderResolvedMessage = string;
         for (final var entry : this.customPlaceholders.entrySet()) {
@@ -271,6 +303,7 @@ public class PrimaryConfig {
 
     public enum StorageType {
         JSON,
+        JSON_SHARDED,
         MYSQL,
         PSQL,
         H2
@@ -0,0 +1,61 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.config;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+@DefaultQualifier(NonNull.class)
+public class TracingSettings {
+
+    @Comment("""
+        Whether to time each stage of chat processing, including every event subscriber and renderer.
+        Traces add a little overhead to each message, so this is best enabled while investigating chat lag.""")
+    private boolean enabled = false;
+
+    @Comment("Chat messages taking longer than this many milliseconds to process are logged with a breakdown per stage. Set to 0 to disable.")
+    private int slowThresholdMillis = 50;
+
+    @Comment("Keep one in this many traces for '/carbondebug traces'. Slow traces are always kept.")
+    private int sampleEvery = 20;
+
+    @Comment("How many traces to keep for '/carbondebug traces'.")
+    private int bufferSize = 20;
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public int slowThresholdMillis() {
+        return this.slowThresholdMillis;
+    }
+
+    public int sampleEvery() {
+        return Math.max(1, this.sampleEvery);
+    }
+
+    public int bufferSize() {
+        return Math.max(1, this.bufferSize);
+    }
+
+}
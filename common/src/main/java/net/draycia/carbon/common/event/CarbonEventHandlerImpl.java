@@ -21,61 +21,58 @@ package net.draycia.carbon.common.event;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import com.seiama.event.EventConfig;
-import com.seiama.event.EventSubscriber;
-import com.seiama.event.EventSubscription;
-import com.seiama.event.bus.EventBus;
-import com.seiama.event.bus.SimpleEventBus;
-import com.seiama.event.registry.EventRegistry;
-import com.seiama.event.registry.SimpleEventRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import net.draycia.carbon.api.event.Cancellable;
 import net.draycia.carbon.api.event.CarbonEvent;
 import net.draycia.carbon.api.event.CarbonEventHandler;
 import net.draycia.carbon.api.event.CarbonEventSubscriber;
 import net.draycia.carbon.api.event.CarbonEventSubscription;
+import net.draycia.carbon.common.metrics.ChatTrace;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 /**
  * Event handler for listening to and emitting carbon events.
  *
+ * <p>Subscribers for each concrete event class are resolved and sorted once, then cached as an
+ * array until the set of subscriptions changes, so emitting an event is a plain array walk.</p>
+ *
  * @since 1.0.0
  */
 @DefaultQualifier(NonNull.class)
 @Singleton
 public final class CarbonEventHandlerImpl implements CarbonEventHandler {
 
+    private static final Subscriber<?>[] NO_SUBSCRIBERS = new Subscriber<?>[0];
+    private static final Comparator<Subscriber<?>> DISPATCH_ORDER = Comparator.<Subscriber<?>>comparingInt(Subscriber::order)
+        .thenComparingLong(Subscriber::sequence);
+
     private final Logger logger;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Subscriber<?>> subscribers = new ArrayList<>();
+    private final Map<Class<?>, Subscriber<?>[]> dispatchCache = new ConcurrentHashMap<>();
 
     @Inject
     private CarbonEventHandlerImpl(final Logger logger) {
         this.logger = logger;
     }
 
-    private final EventRegistry<CarbonEvent> eventRegistry = new SimpleEventRegistry<>(CarbonEvent.class);
-    private final EventBus<CarbonEvent> eventBus = new SimpleEventBus<>(this.eventRegistry, this::onException);
-
-    private <E> void onException(final EventBus<? super E> eventBus, final EventSubscription<? super E> subscription, final E event, final Throwable throwable) {
-        final Object subscriber = subscription.subscriber() instanceof SubscriberWrapper<?> wrapped
-            ? wrapped.carbon
-            : subscription.subscriber();
-        this.logger.warn("Exception posting event '{}' to subscriber '{}'", event, subscriber, throwable);
-    }
-
     @Override
     public <T extends CarbonEvent> CarbonEventSubscription<T> subscribe(
         final Class<T> eventClass,
         final CarbonEventSubscriber<T> subscriber
     ) {
-        return new CarbonEventSubscriptionImpl<>(
-            eventClass,
-            subscriber,
-            this.eventRegistry.subscribe(eventClass, new SubscriberWrapper<>(subscriber, true))
-        );
+        return this.subscribe(eventClass, 0, true, subscriber);
     }
 
-    // TODO: support EventConfig#exact()
+    // TODO: support exact subscriptions
     @Override
     public <T extends CarbonEvent> CarbonEventSubscription<T> subscribe(
         final Class<T> eventClass,
@@ -83,33 +80,86 @@ public final class CarbonEventHandlerImpl implements CarbonEventHandler {
         final boolean acceptsCancelled,
         final CarbonEventSubscriber<T> subscriber
     ) {
-        final EventConfig eventConfig = EventConfig.defaults().order(order).acceptsCancelled(acceptsCancelled);
-        return new CarbonEventSubscriptionImpl<>(
-            eventClass,
-            subscriber,
-            this.eventRegistry.subscribe(eventClass, eventConfig, new SubscriberWrapper<>(subscriber, acceptsCancelled))
-        );
+        final Subscriber<T> registration = new Subscriber<>(eventClass, order, acceptsCancelled, this.sequence.getAndIncrement(), subscriber);
+        synchronized (this.subscribers) {
+            this.subscribers.add(registration);
+            this.dispatchCache.clear();
+        }
+        return new CarbonEventSubscriptionImpl<>(eventClass, subscriber, () -> this.unsubscribe(registration));
+    }
+
+    private void unsubscribe(final Subscriber<?> registration) {
+        synchronized (this.subscribers) {
+            if (this.subscribers.remove(registration)) {
+                this.dispatchCache.clear();
+            }
+        }
     }
 
     @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public <T extends CarbonEvent> void emit(final T event) {
-        this.eventBus.post(event);
+        final Subscriber[] subscribers = this.subscribers(event.getClass());
+        if (subscribers.length == 0) {
+            return;
+        }
+
+        // Check our API Cancellable rather than seiama's, API consumers won't be able to implement that
+        final @Nullable Cancellable cancellable = event instanceof Cancellable c ? c : null;
+        final @Nullable ChatTrace trace = ChatTrace.current();
+
+        for (final Subscriber subscriber : subscribers) {
+            if (!subscriber.acceptsCancelled() && cancellable != null && cancellable.cancelled()) {
+                continue;
+            }
+            final long start = trace == null ? 0 : trace.mark();
+            try {
+                subscriber.carbon().on(event);
+            } catch (final Throwable throwable) {
+                this.logger.warn("Exception posting event '{}' to subscriber '{}'", event, subscriber.carbon(), throwable);
+            }
+            if (trace != null) {
+                final Class<?> type = subscriber.carbon().getClass();
+                trace.stage(event.getClass().getSimpleName() + " subscriber " + subscriberName(type), start, ChatTrace.ownerOf(type));
+            }
+        }
     }
 
-    private record SubscriberWrapper<T extends CarbonEvent>(
-        CarbonEventSubscriber<T> carbon,
-        boolean acceptsCancelled
-    ) implements EventSubscriber<T> {
+    private static String subscriberName(final Class<?> type) {
+        // lambdas are named after their enclosing class, followed by $$Lambda and an id
+        final String name = type.getName();
+        final int lambda = name.indexOf("$$Lambda");
+        return lambda == -1 ? name : name.substring(0, lambda);
+    }
 
-        @Override
-        public void on(final T event) throws Throwable {
-            // Our events implement seiama Cancellable; but API consumers won't be able to do that
-            if (!this.acceptsCancelled && event instanceof Cancellable cancellable && cancellable.cancelled()) {
-                return;
+    private Subscriber<?>[] subscribers(final Class<?> eventClass) {
+        final Subscriber<?> @Nullable [] cached = this.dispatchCache.get(eventClass);
+        if (cached != null) {
+            return cached;
+        }
+
+        synchronized (this.subscribers) {
+            final List<Subscriber<?>> matching = new ArrayList<>();
+            for (final Subscriber<?> subscriber : this.subscribers) {
+                if (subscriber.eventClass().isAssignableFrom(eventClass)) {
+                    matching.add(subscriber);
+                }
             }
-            this.carbon.on(event);
+            matching.sort(DISPATCH_ORDER);
+
+            final Subscriber<?>[] resolved = matching.isEmpty() ? NO_SUBSCRIBERS : matching.toArray(Subscriber<?>[]::new);
+            this.dispatchCache.put(eventClass, resolved);
+            return resolved;
         }
+    }
 
+    private record Subscriber<T extends CarbonEvent>(
+        Class<T> eventClass,
+        int order,
+        boolean acceptsCancelled,
+        long sequence,
+        CarbonEventSubscriber<T> carbon
+    ) {
     }
 
 }
@@ -19,7 +19,6 @@
  */
 package net.draycia.carbon.common.event;
 
-import com.seiama.event.EventSubscription;
 import net.draycia.carbon.api.event.CarbonEvent;
 import net.draycia.carbon.api.event.CarbonEventSubscriber;
 import net.draycia.carbon.api.event.CarbonEventSubscription;
@@ -30,12 +29,12 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 record CarbonEventSubscriptionImpl<T extends CarbonEvent>(
     Class<T> event,
     CarbonEventSubscriber<T> subscriber,
-    EventSubscription<T> backingSubscription
+    Runnable unsubscribe
 ) implements CarbonEventSubscription<T> {
 
     @Override
     public void dispose() {
-        this.backingSubscription.dispose();
+        this.unsubscribe.run();
     }
 
 }
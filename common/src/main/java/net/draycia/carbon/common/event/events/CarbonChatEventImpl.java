@@ -25,6 +25,7 @@ import net.draycia.carbon.api.event.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.KeyedRenderer;
 import net.draycia.carbon.common.event.CancellableImpl;
+import net.draycia.carbon.common.metrics.ChatTrace;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.chat.SignedMessage;
 import net.kyori.adventure.text.Component;
@@ -49,6 +50,7 @@ public class CarbonChatEventImpl extends CancellableImpl implements CarbonChatEv
     private final @MonotonicNonNull SignedMessage signedMessage;
     public final boolean origin;
     private Component message;
+    private volatile @Nullable ChatTrace trace;
 
     public CarbonChatEventImpl(
         final CarbonPlayer sender,
@@ -120,10 +122,23 @@ public class CarbonChatEventImpl extends CancellableImpl implements CarbonChatEv
         return this.recipients;
     }
 
+    public @Nullable ChatTrace trace() {
+        return this.trace;
+    }
+
+    public void trace(final @Nullable ChatTrace trace) {
+        this.trace = trace;
+    }
+
     public Component renderFor(final Audience viewer) {
+        final @Nullable ChatTrace trace = this.trace;
         Component renderedMessage = this.message();
         for (final var renderer : this.renderers()) {
+            final long start = trace == null ? 0 : trace.mark();
             renderedMessage = renderer.render(this.sender, viewer, renderedMessage, this.message());
+            if (trace != null) {
+                trace.rendered(renderer, start);
+            }
         }
         return renderedMessage;
     }
@@ -0,0 +1,182 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.listeners;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.config.DeliverySettings;
+import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.metrics.ChatTrace;
+import net.draycia.carbon.common.metrics.ChatTracer;
+import net.draycia.carbon.common.metrics.Metrics;
+import net.draycia.carbon.common.util.ConcurrentUtil;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Renders chat events for their recipients, optionally splitting the work across a bounded
+ * pool when there are many recipients (see {@link DeliverySettings}).
+ *
+ * <p>Sending always happens on the calling thread in recipient order, so platforms where
+ * sending must stay on one thread are unaffected and each recipient sees messages in order.</p>
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class ChatDelivery {
+
+    private final ConfigManager configManager;
+    private final Logger logger;
+    private final Metrics metrics;
+    private final ChatTracer chatTracer;
+    private final Metrics.Counter messages;
+    private final Metrics.Histogram recipientCounts;
+    private final Metrics.Histogram renderTimer;
+    private volatile @MonotonicNonNull ExecutorService renderPool;
+    private volatile int renderThreads;
+
+    @Inject
+    private ChatDelivery(final ConfigManager configManager, final Logger logger, final Metrics metrics, final ChatTracer chatTracer) {
+        this.configManager = configManager;
+        this.logger = logger;
+        this.metrics = metrics;
+        this.chatTracer = chatTracer;
+        this.messages = metrics.counter("carbon_chat_messages_total", "Chat messages delivered.");
+        this.recipientCounts = metrics.histogram("carbon_chat_recipients", "Recipients per chat message.", 1, 5, 10, 25, 50, 100, 250, 500, 1000);
+        this.renderTimer = metrics.timer("carbon_chat_render_seconds", "Time taken to render a chat message for one recipient.");
+    }
+
+    /**
+     * Renders the event for each recipient, then passes the results to {@code sender} in recipient order
+     * on the calling thread.
+     *
+     * @param chatEvent  chat event
+     * @param recipients recipients
+     * @param sender     delivers a rendered message to a recipient
+     */
+    public void deliver(
+        final CarbonChatEventImpl chatEvent,
+        final List<? extends Audience> recipients,
+        final BiConsumer<Audience, Component> sender
+    ) {
+        final Component[] rendered = this.render(chatEvent, recipients);
+        for (int i = 0; i < rendered.length; i++) {
+            sender.accept(recipients.get(i), rendered[i]);
+        }
+    }
+
+    /**
+     * Renders the event for each recipient, completing the event's trace if it has one.
+     *
+     * @param chatEvent  chat event
+     * @param recipients recipients
+     * @return the rendered messages, indexed the same as {@code recipients}
+     */
+    public Component[] render(final CarbonChatEventImpl chatEvent, final List<? extends Audience> recipients) {
+        final @Nullable ChatTrace trace = chatEvent.trace();
+        if (trace == null) {
+            return this.renderAll(chatEvent, recipients);
+        }
+
+        final long start = trace.mark();
+        final Component[] rendered = this.renderAll(chatEvent, recipients);
+        trace.stage("render for " + rendered.length + " recipients", start);
+        this.chatTracer.finish(trace);
+        return rendered;
+    }
+
+    private Component[] renderAll(final CarbonChatEventImpl chatEvent, final List<? extends Audience> recipients) {
+        final Component[] rendered = new Component[recipients.size()];
+        final DeliverySettings settings = this.configManager.primaryConfig().deliverySettings();
+        this.messages.increment();
+        this.recipientCounts.observe(rendered.length);
+
+        if (!settings.parallelRendering() || rendered.length < settings.parallelThreshold()) {
+            this.renderRange(chatEvent, recipients, rendered, 0, rendered.length);
+            return rendered;
+        }
+
+        final ExecutorService pool = this.renderPool(settings);
+        // the calling thread takes a share as well, so it isn't left idle waiting on the pool
+        final int partitions = Math.min(this.renderThreads + 1, rendered.length);
+        final int partitionSize = (rendered.length + partitions - 1) / partitions;
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(partitions - 1);
+        for (int start = partitionSize; start < rendered.length; start += partitionSize) {
+            final int from = start;
+            final int to = Math.min(start + partitionSize, rendered.length);
+            futures.add(CompletableFuture.runAsync(() -> this.renderRange(chatEvent, recipients, rendered, from, to), pool));
+        }
+
+        this.renderRange(chatEvent, recipients, rendered, 0, Math.min(partitionSize, rendered.length));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        return rendered;
+    }
+
+    private void renderRange(
+        final CarbonChatEventImpl chatEvent,
+        final List<? extends Audience> recipients,
+        final Component[] rendered,
+        final int from,
+        final int to
+    ) {
+        for (int i = from; i < to; i++) {
+            final long start = this.metrics.start();
+            rendered[i] = chatEvent.renderFor(recipients.get(i));
+            this.renderTimer.stop(start);
+        }
+    }
+
+    private ExecutorService renderPool(final DeliverySettings settings) {
+        @Nullable ExecutorService pool = this.renderPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = this.renderPool;
+                if (pool == null) {
+                    this.renderThreads = settings.parallelThreads();
+                    pool = Executors.newFixedThreadPool(this.renderThreads, ConcurrentUtil.carbonThreadFactory(this.logger, "Chat Rendering"));
+                    this.renderPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    public void shutdown() {
+        final @Nullable ExecutorService pool = this.renderPool;
+        if (pool != null) {
+            ConcurrentUtil.shutdownExecutor(pool, TimeUnit.MILLISECONDS, 50);
+        }
+    }
+
+}
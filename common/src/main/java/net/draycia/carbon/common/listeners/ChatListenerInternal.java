@@ -20,26 +20,40 @@
 package net.draycia.carbon.common.listeners;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import net.draycia.carbon.api.channels.ChannelPermissionResult;
 import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.event.CarbonEventHandler;
 import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.api.users.UserManager;
 import net.draycia.carbon.api.util.KeyedRenderer;
+import net.draycia.carbon.common.ChatPipeline;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
 import net.draycia.carbon.common.event.events.CarbonEarlyChatEvent;
 import net.draycia.carbon.common.messages.CarbonMessages;
 import net.draycia.carbon.common.messages.TagPermissions;
+import net.draycia.carbon.common.metrics.ChatTrace;
+import net.draycia.carbon.common.metrics.ChatTracer;
 import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.draycia.carbon.common.util.Strings;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.chat.SignedMessage;
+import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentIteratorType;
 import net.kyori.adventure.text.TextComponent;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -50,40 +64,248 @@ public abstract class ChatListenerInternal {
     private final ConfigManager configManager;
     private final CarbonMessages carbonMessages;
     private final CarbonEventHandler carbonEventHandler;
+    protected final ChatTracer chatTracer;
+    private final Executor pipelineExecutor;
+    // The last message of each sender that is still in flight, later messages wait for it
+    private final Map<UUID, CompletableFuture<Void>> senderTails = new ConcurrentHashMap<>();
 
     protected ChatListenerInternal(
         final CarbonEventHandler carbonEventHandler,
         final CarbonMessages carbonMessages,
-        final ConfigManager configManager
+        final ConfigManager configManager,
+        final ChatTracer chatTracer,
+        final Executor pipelineExecutor
     ) {
         this.configManager = configManager;
         this.carbonMessages = carbonMessages;
         this.carbonEventHandler = carbonEventHandler;
+        this.chatTracer = chatTracer;
+        this.pipelineExecutor = pipelineExecutor;
+    }
+
+    /**
+     * Runs the chat pipeline once the sender has been resolved, without blocking the calling thread.
+     *
+     * <p>When the sender is already {@link #readySender ready} the pipeline runs inline on the calling thread.
+     * Otherwise it runs on the {@link ChatPipeline} executor once the load completes, so that the storage
+     * executor is never used for chat.</p>
+     *
+     * @param senderFuture   the sender, usually from {@link UserManager#user(UUID)}
+     * @param messageContent the raw message content
+     * @param signedMessage  the signed message, if any
+     * @return a future completing with the emitted event, or {@code null} when the message was dropped
+     */
+    protected CompletableFuture<@Nullable CarbonChatEventImpl> prepareAndEmitChatEvent(
+        final CompletableFuture<? extends CarbonPlayer> senderFuture,
+        final String messageContent,
+        final @Nullable SignedMessage signedMessage
+    ) {
+        final CompletableFuture<CarbonPlayer> readyFuture = readySender(senderFuture);
+        if (readyFuture.isDone()) {
+            return readyFuture.thenApply(sender -> this.prepareAndEmitChatEvent(sender, messageContent, signedMessage));
+        }
+
+        final @Nullable ChatTrace trace = this.chatTracer.begin();
+        if (trace == null) {
+            return readyFuture.thenApplyAsync(sender -> this.prepareAndEmitChatEvent(sender, messageContent, signedMessage), this.pipelineExecutor);
+        }
+        return readyFuture.thenApplyAsync(sender -> {
+            // the pipeline picks up the bound trace, so the load shows up as its first stage
+            trace.stage("sender load", trace.startNanos());
+            trace.bind();
+            try {
+                return this.prepareAndEmitChatEvent(sender, messageContent, signedMessage);
+            } finally {
+                ChatTrace.unbind();
+            }
+        }, this.pipelineExecutor);
+    }
+
+    /**
+     * Runs the chat pipeline and delivers the result in the order a sender's messages arrived.
+     *
+     * <p>A message runs inline like {@link #prepareAndEmitChatEvent(CompletableFuture, String, SignedMessage)}
+     * when nothing from the same sender is still in flight, otherwise it waits for the previous message to be
+     * delivered, so a cold sender load can't let a later message overtake an earlier one.</p>
+     *
+     * @param senderId       the sender's id
+     * @param senderFuture   the sender, usually from {@link UserManager#user(UUID)}
+     * @param messageContent the raw message content
+     * @param signedMessage  the signed message, if any
+     * @param delivery       delivers the emitted event, which is {@code null} when the message was dropped
+     * @return a future completing once the message was delivered
+     */
+    protected CompletableFuture<Void> emitInOrder(
+        final UUID senderId,
+        final CompletableFuture<? extends CarbonPlayer> senderFuture,
+        final String messageContent,
+        final @Nullable SignedMessage signedMessage,
+        final Consumer<@Nullable CarbonChatEventImpl> delivery
+    ) {
+        final CompletableFuture<Void> tail = new CompletableFuture<>();
+        final @Nullable CompletableFuture<Void> previous = this.senderTails.put(senderId, tail);
+        final CompletableFuture<? extends CarbonPlayer> after = previous == null || previous.isDone()
+            ? senderFuture
+            : previous.handle(($, $$) -> null).thenCompose($ -> senderFuture);
+
+        this.prepareAndEmitChatEvent(after, messageContent, signedMessage)
+            .thenAccept(delivery)
+            .whenComplete(($, thr) -> {
+                this.senderTails.remove(senderId, tail);
+                if (thr != null) {
+                    tail.completeExceptionally(thr);
+                } else {
+                    tail.complete(null);
+                }
+            });
+        return tail;
+    }
+
+    /**
+     * Whether a message from the sender is still waiting to be delivered by {@link #emitInOrder}.
+     *
+     * @param senderId the sender's id
+     * @return whether a message is in flight
+     */
+    protected boolean inFlight(final UUID senderId) {
+        final @Nullable CompletableFuture<Void> tail = this.senderTails.get(senderId);
+        return tail != null && !tail.isDone();
+    }
+
+    /**
+     * Loads what the pipeline needs besides the sender itself, so it never has to block on it.
+     *
+     * <p>Party chat renders the party name. Parties stay loaded while a member is online, so this
+     * only waits on a member's first message, and completes inline after that.
+     * A party that fails to load is rendered without its name rather than dropping the message.</p>
+     *
+     * @param senderFuture the sender
+     * @return a future completing with the sender once it is ready for the pipeline
+     */
+    protected static CompletableFuture<CarbonPlayer> readySender(final CompletableFuture<? extends CarbonPlayer> senderFuture) {
+        return senderFuture.thenCompose(sender -> {
+            if (!(sender instanceof WrappedCarbonPlayer wrapped) || wrapped.partyId() == null) {
+                return CompletableFuture.completedFuture(sender);
+            }
+            return sender.party().handle(($, $$) -> sender);
+        });
+    }
+
+    /**
+     * Resolves the {@link CarbonPlayer} for every recipient that is not one already, in a single batch.
+     *
+     * <p>Recipients which are already {@link CarbonPlayer CarbonPlayers} or have no {@link Identity#UUID} are not included.</p>
+     *
+     * @param userManager user manager
+     * @param recipients  recipients to resolve
+     * @return a future completing with the resolved players by id
+     */
+    protected static CompletableFuture<Map<UUID, CarbonPlayer>> resolveRecipients(
+        final UserManager<?> userManager,
+        final Collection<? extends Audience> recipients
+    ) {
+        final Map<UUID, CompletableFuture<? extends CarbonPlayer>> pending = new HashMap<>();
+        for (final Audience recipient : recipients) {
+            if (recipient instanceof CarbonPlayer) {
+                continue;
+            }
+            final Optional<UUID> uuid = recipient.get(Identity.UUID);
+            uuid.ifPresent(id -> pending.computeIfAbsent(id, userManager::user));
+        }
+
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+
+        return CompletableFuture.allOf(pending.values().toArray(CompletableFuture[]::new)).thenApply($ -> {
+            final Map<UUID, CarbonPlayer> resolved = new HashMap<>(pending.size());
+            pending.forEach((id, future) -> resolved.put(id, future.join()));
+            return resolved;
+        });
     }
 
     protected @Nullable CarbonChatEventImpl prepareAndEmitChatEvent(final CarbonPlayer sender, final String messageContent, final @Nullable SignedMessage signedMessage) {
-        final CarbonPlayer.ChannelMessage channelMessage = sender.channelForMessage(Component.text(messageContent));
+        final Component input = Component.text(messageContent);
+        final CarbonPlayer.ChannelMessage channelMessage = sender.channelForMessage(input);
         final ChatChannel channel = channelMessage.channel();
-        final String message = PlainTextComponentSerializer.plainText().serialize(channelMessage.message());
+        // Without a quick prefix the message comes back untouched, no need to serialize it again
+        final String message = channelMessage.message() == input ? messageContent : Strings.plainText(channelMessage.message());
 
         return this.prepareAndEmitChatEvent(sender, message, signedMessage, channel);
     }
 
+    /**
+     * Runs the chat pipeline, tracing it when tracing is enabled.
+     *
+     * <p>A traced event carries its trace until it is completed by {@link ChatDelivery#render}. Callers
+     * delivering an event some other way should pass it to {@link ChatTracer#finish} themselves.</p>
+     *
+     * @param sender         sender
+     * @param messageContent message content
+     * @param signedMessage  signed message, if any
+     * @param channel        channel
+     * @return the emitted event, or {@code null} when the message was dropped
+     */
     protected @Nullable CarbonChatEventImpl prepareAndEmitChatEvent(final CarbonPlayer sender, final String messageContent, final @Nullable SignedMessage signedMessage, final ChatChannel channel) {
+        final @Nullable ChatTrace bound = ChatTrace.current();
+        final @Nullable ChatTrace trace = bound != null ? bound : this.chatTracer.begin();
+        if (trace == null) {
+            return this.emitChatEvent(sender, messageContent, signedMessage, channel, null);
+        }
+
+        trace.subject(sender.username(), channel.key().asString());
+        final @Nullable CarbonChatEventImpl chatEvent;
+        trace.bind();
+        try {
+            chatEvent = this.emitChatEvent(sender, messageContent, signedMessage, channel, trace);
+        } finally {
+            if (bound == null) {
+                ChatTrace.unbind();
+            }
+        }
+
+        if (chatEvent == null || chatEvent.cancelled()) {
+            this.chatTracer.finish(trace);
+        } else {
+            chatEvent.trace(trace);
+        }
+        return chatEvent;
+    }
+
+    private @Nullable CarbonChatEventImpl emitChatEvent(
+        final CarbonPlayer sender,
+        final String messageContent,
+        final @Nullable SignedMessage signedMessage,
+        final ChatChannel channel,
+        final @Nullable ChatTrace trace
+    ) {
+        long start = trace == null ? 0 : trace.mark();
         final ChannelPermissionResult permitted = channel.speechPermitted(sender);
+        if (trace != null) {
+            trace.stage("speech permission", start);
+        }
         if (!permitted.permitted()) {
             sender.sendMessage(permitted.reason());
             return null;
         }
-        
+
+        start = trace == null ? 0 : trace.mark();
         String content = this.configManager.primaryConfig().applyChatPlaceholders(messageContent);
         content = this.configManager.primaryConfig().applyChatFilters(content);
+        if (trace != null) {
+            trace.stage("placeholders and filters", start);
+        }
 
+        start = trace == null ? 0 : trace.mark();
         final CarbonEarlyChatEvent earlyChatEvent = new CarbonEarlyChatEvent(sender, content);
         this.carbonEventHandler.emit(earlyChatEvent);
+        if (trace != null) {
+            trace.stage("early chat event", start);
+        }
 
         content = earlyChatEvent.message();
 
+        start = trace == null ? 0 : trace.mark();
         final Component message;
 
         if (sender instanceof WrappedCarbonPlayer wrapped) {
@@ -91,6 +313,9 @@ public abstract class ChatListenerInternal {
         } else {
             message = TagPermissions.parseTags(TagPermissions.MESSAGE, content, sender::hasPermission);
         }
+        if (trace != null) {
+            trace.stage("tag parsing", start);
+        }
         if (probablyBlank(message)) {
             return null;
         }
@@ -103,16 +328,28 @@ public abstract class ChatListenerInternal {
         final List<KeyedRenderer> renderers = new ArrayList<>();
         renderers.add(KeyedRenderer.keyedRenderer(Key.key("carbon", "default"), channel));
 
+        start = trace == null ? 0 : trace.mark();
         final List<Audience> recipients = channel.recipients(sender);
+        if (trace != null) {
+            trace.stage("recipients", start);
+        }
 
         final var chatEvent = new CarbonChatEventImpl(sender, message, recipients, renderers, channel, signedMessage);
 
+        start = trace == null ? 0 : trace.mark();
         this.carbonEventHandler.emit(chatEvent);
+        if (trace != null) {
+            trace.stage("chat event", start);
+        }
 
         return chatEvent;
     }
 
     private static boolean probablyBlank(final Component component) {
+        if (component instanceof TextComponent text && text.children().isEmpty()) {
+            // Tag-free messages parse to a single text component
+            return text.content().isBlank();
+        }
         final Iterator<Component> it = component.iterator(ComponentIteratorType.DEPTH_FIRST);
         while (it.hasNext()) {
             final Component c = it.next();
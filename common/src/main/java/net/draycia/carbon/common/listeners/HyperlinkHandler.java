@@ -22,11 +22,10 @@ package net.draycia.carbon.common.listeners;
 import com.google.inject.Inject;
 import net.draycia.carbon.api.event.CarbonEventHandler;
 import net.draycia.carbon.api.event.events.CarbonChatEvent;
+import net.draycia.carbon.common.util.Strings;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
-import static net.draycia.carbon.common.util.Strings.URL_REPLACEMENT_CONFIG;
-
 @DefaultQualifier(NonNull.class)
 public class HyperlinkHandler implements Listener {
 
@@ -34,7 +33,7 @@ public class HyperlinkHandler implements Listener {
     public HyperlinkHandler(final CarbonEventHandler events) {
         events.subscribe(CarbonChatEvent.class, 0, false, event -> {
             if (event.sender().hasPermission("carbon.chatlinks")) {
-                event.message(event.message().replaceText(URL_REPLACEMENT_CONFIG.get()));
+                event.message(Strings.replaceUrls(event.message()));
             }
         });
     }
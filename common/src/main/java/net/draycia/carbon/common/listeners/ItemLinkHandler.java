@@ -20,6 +20,10 @@
 package net.draycia.carbon.common.listeners;
 
 import com.google.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import net.draycia.carbon.api.event.CarbonEventHandler;
 import net.draycia.carbon.api.event.events.CarbonChatEvent;
 import net.draycia.carbon.api.event.events.CarbonPrivateChatEvent;
@@ -27,11 +31,32 @@ import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.InventorySlot;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
 
+@DefaultQualifier(NonNull.class)
 public class ItemLinkHandler implements Listener {
 
+    private final Map<String, InventorySlot> slotsByPlaceholder;
+    private final Pattern placeholderPattern;
+
     @Inject
     public ItemLinkHandler(final CarbonEventHandler events) {
+        // Compile every slot's placeholders into one alternation so a message is rewritten at most once
+        final Map<String, InventorySlot> slots = new HashMap<>();
+        for (final InventorySlot slot : InventorySlot.SLOTS) {
+            for (final String placeholder : slot.placeholders()) {
+                slots.putIfAbsent(placeholder, slot);
+            }
+        }
+        this.slotsByPlaceholder = Map.copyOf(slots);
+        this.placeholderPattern = Pattern.compile(this.slotsByPlaceholder.keySet().stream()
+            .sorted((a, b) -> Integer.compare(b.length(), a.length()))
+            .map(Pattern::quote)
+            .collect(Collectors.joining("|", "<(", ")>")));
+
         events.subscribe(CarbonChatEvent.class, 2, false, event -> {
             event.message(this.handleChatEvent(event.sender(), event.message()));
         });
@@ -41,26 +66,34 @@ public class ItemLinkHandler implements Listener {
         });
     }
 
-    private Component handleChatEvent(final CarbonPlayer sender, Component message) {
+    private Component handleChatEvent(final CarbonPlayer sender, final Component message) {
         if (!sender.hasPermission("carbon.itemlink")) {
             return message;
         }
 
-        for (final var slot : InventorySlot.SLOTS) {
-            for (final var placeholder : slot.placeholders()) {
-                message = message
-                        .replaceText(TextReplacementConfig.builder()
-                        .matchLiteral("<" + placeholder + ">")
-                        .replacement(builder -> {
-                            final Component itemComponent = sender.createItemHoverComponent(slot);
-
-                            return itemComponent == null ? builder : itemComponent;
-                        })
-                        .build());
-            }
+        // Cheap check against the flattened text before walking the component tree
+        if (!this.placeholderPattern.matcher(PlainTextComponentSerializer.plainText().serialize(message)).find()) {
+            return message;
         }
 
-        return message;
+        final Map<InventorySlot, @Nullable Component> resolved = new HashMap<>();
+
+        return message.replaceText(TextReplacementConfig.builder()
+            .match(this.placeholderPattern)
+            .replacement((result, builder) -> {
+                final InventorySlot slot = this.slotsByPlaceholder.get(result.group(1));
+                if (slot == null) {
+                    return builder;
+                }
+
+                if (!resolved.containsKey(slot)) {
+                    resolved.put(slot, sender.createItemHoverComponent(slot));
+                }
+                final @Nullable Component itemComponent = resolved.get(slot);
+
+                return itemComponent == null ? builder : itemComponent;
+            })
+            .build());
     }
 
 }
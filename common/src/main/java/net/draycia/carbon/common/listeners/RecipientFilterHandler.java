@@ -0,0 +1,88 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.listeners;
+
+import com.google.inject.Inject;
+import net.draycia.carbon.api.channels.ChatChannel;
+import net.draycia.carbon.api.event.CarbonEventHandler;
+import net.draycia.carbon.api.event.events.CarbonChatEvent;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.messages.CarbonMessages;
+import net.kyori.adventure.audience.Audience;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Applies the built-in recipient filters (ignores, deafening and channel radius) in a single pass over the recipients.
+ */
+@DefaultQualifier(NonNull.class)
+public class RecipientFilterHandler implements Listener {
+
+    @Inject
+    public RecipientFilterHandler(
+        final CarbonEventHandler events,
+        final CarbonMessages carbonMessages
+    ) {
+        events.subscribe(CarbonChatEvent.class, 0, false, event -> {
+            final CarbonPlayer sender = event.sender();
+            final boolean senderDeafened = sender.deafened();
+            final @Nullable ChatChannel channel = event.chatChannel();
+            final double radius = channel == null ? -1 : channel.radius();
+
+            event.recipients().removeIf(audience -> {
+                if (!(audience instanceof CarbonPlayer carbonPlayer)) {
+                    return false;
+                }
+
+                if (carbonPlayer.ignoring(sender)) {
+                    return true;
+                }
+
+                if (senderDeafened && carbonPlayer.deafened()) {
+                    return true;
+                }
+
+                return radius >= 0 && !withinRadius(sender, audience, carbonPlayer, radius);
+            });
+
+            if (radius >= 0 && event.recipients().size() <= 2 && channel.emptyRadiusRecipientsMessage()) { // the player and console
+                carbonMessages.emptyRecipients(sender);
+            }
+        });
+    }
+
+    private static boolean withinRadius(final CarbonPlayer sender, final Audience audience, final CarbonPlayer recipient, final double radius) {
+        if (audience.equals(sender)) {
+            return true;
+        }
+
+        if (radius == 0) {
+            return recipient.sameWorldAs(sender);
+        }
+
+        if (!sender.sameWorldAs(recipient)) {
+            return false;
+        }
+
+        return recipient.distanceSquaredFrom(sender) <= (radius * radius);
+    }
+
+}
@@ -25,7 +25,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.Writer;
+import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -43,6 +43,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -52,6 +56,8 @@ import net.draycia.carbon.common.DataDirectory;
 import net.draycia.carbon.common.command.PlayerCommander;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.event.events.CarbonReloadEvent;
+import net.draycia.carbon.common.util.ConcurrentUtil;
+import net.draycia.carbon.common.util.FileUtil;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.translation.Translator;
 import net.kyori.moonshine.message.IMessageSource;
@@ -60,15 +66,24 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
+/**
+ * Message source backed by the bundled and user locale files.
+ *
+ * <p>Locales are compiled on load and reload into immutable maps which already include the default
+ * locale's entries for missing keys, with Crowdin quoting fixed, so looking up a message doesn't need
+ * any locking, fallback or string work.</p>
+ */
 @Singleton
 @DefaultQualifier(NonNull.class)
 public final class CarbonMessageSource implements IMessageSource<Audience, String> {
 
     private final Locale defaultLocale;
-    private volatile Map<Locale, Properties> locales = Map.of();
+    private volatile Translations translations = new Translations(Map.of(), Map.of());
     private final Path pluginJar;
     private final Logger logger;
     private final Path dataDirectory;
+    private final ExecutorService localeWriter;
+    private CompletableFuture<?> pendingWrites = CompletableFuture.completedFuture(null);
 
     @Inject
     private CarbonMessageSource(
@@ -80,6 +95,7 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         this.dataDirectory = dataDirectory;
         this.pluginJar = pluginJar();
         this.logger = logger;
+        this.localeWriter = Executors.newSingleThreadExecutor(ConcurrentUtil.carbonThreadFactory(logger, "Locale Writer"));
 
         this.defaultLocale = configManager.primaryConfig().defaultLocale();
 
@@ -107,7 +123,17 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         }
     }
 
+    /**
+     * Stops writing back locale files, waiting for pending writes to finish.
+     */
+    public void shutdown() {
+        ConcurrentUtil.shutdownExecutor(this.localeWriter, TimeUnit.SECONDS, 5);
+    }
+
     private void reloadTranslations() throws IOException {
+        // Files written back by the previous load have to be complete before they are read again
+        this.awaitPendingWrites();
+
         final Map<Locale, Properties> map = new HashMap<>();
 
         final Path localeDirectory = this.dataDirectory.resolve("locale");
@@ -154,7 +180,34 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         }
 
         this.logger.info("Loaded {} locales: [{}]", map.size(), map.keySet().stream().map(Locale::toString).collect(Collectors.joining(", ")));
-        this.locales = Map.copyOf(map);
+        this.translations = this.compile(map);
+    }
+
+    private void awaitPendingWrites() {
+        final CompletableFuture<?> pending;
+        synchronized (this) {
+            pending = this.pendingWrites;
+        }
+        pending.join();
+    }
+
+    private Translations compile(final Map<Locale, Properties> loaded) {
+        final @Nullable Properties defaultProperties = loaded.get(this.defaultLocale);
+        final Map<String, String> defaults = defaultProperties == null ? Map.of() : compileLocale(defaultProperties, Map.of());
+
+        final Map<Locale, Map<String, String>> locales = new HashMap<>();
+        loaded.forEach((locale, properties) ->
+            locales.put(locale, locale.equals(this.defaultLocale) ? defaults : compileLocale(properties, defaults)));
+
+        return new Translations(Map.copyOf(locales), defaults);
+    }
+
+    private static Map<String, String> compileLocale(final Properties properties, final Map<String, String> fallback) {
+        final Map<String, String> messages = new HashMap<>(fallback);
+        for (final String key : properties.stringPropertyNames()) {
+            messages.put(key, fixCrowdin(properties.getProperty(key)));
+        }
+        return Map.copyOf(messages);
     }
 
     private void tryLoadLocale(final Map<Locale, Properties> map, final Path localeDirectory, final Path localeFile, final Locale locale) {
@@ -210,37 +263,40 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
     }
 
     private String forPlayer(final String key, final CarbonPlayer player) {
+        final Translations translations = this.translations;
         final @Nullable Locale locale = player.locale();
         if (locale != null) {
-            final var properties = this.locales.get(locale);
+            final @Nullable Map<String, String> messages = translations.locales().get(locale);
 
-            if (properties != null) {
-                final var message = properties.getProperty(key);
+            if (messages != null) {
+                final @Nullable String message = messages.get(key);
 
                 if (message != null) {
-                    return fixCrowdin(message);
+                    return message;
                 }
             }
         }
 
-        return this.fromDefaultLocale(key);
+        return this.fromDefaultLocale(translations, key);
     }
 
     private String fromDefaultLocale(final String key) {
-        final Properties defaultProperties = this.locales.get(this.defaultLocale);
+        return this.fromDefaultLocale(this.translations, key);
+    }
 
-        if (defaultProperties != null) {
-            final String value = defaultProperties.getProperty(key);
+    private String fromDefaultLocale(final Translations translations, final String key) {
+        if (translations.defaults().isEmpty()) {
+            return key;
+        }
 
-            if (value == null) {
-                this.logger.warn("No message mapping for key " + key + " in default locale " + this.defaultLocale.getDisplayName());
-                return key;
-            }
+        final @Nullable String value = translations.defaults().get(key);
 
-            return fixCrowdin(value);
+        if (value == null) {
+            this.logger.warn("No message mapping for key " + key + " in default locale " + this.defaultLocale.getDisplayName());
+            return key;
         }
 
-        return key;
+        return value;
     }
 
     private void walkPluginJar(final Consumer<Stream<Path>> user) throws IOException {
@@ -294,10 +350,19 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
 
         // todo: copy missing entries from default english locale as well?
 
-        // Write properties back to file
+        // Write properties back to file, off the loading thread as nothing reads it back until the next load
         if (write) {
-            try (final Writer outputStream = Files.newBufferedWriter(userFile)) {
-                properties.store(outputStream, null);
+            final StringWriter writer = new StringWriter();
+            properties.store(writer, null);
+            final CompletableFuture<?> task = CompletableFuture.runAsync(() -> {
+                try {
+                    FileUtil.writeAtomically(userFile, writer.toString());
+                } catch (final IOException ex) {
+                    this.logger.warn("Failed to write locale file {}", userFile, ex);
+                }
+            }, this.localeWriter);
+            synchronized (this) {
+                this.pendingWrites = CompletableFuture.allOf(this.pendingWrites, task);
             }
         }
     }
@@ -318,4 +383,13 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         return s.replace("''", "'");
     }
 
+    /**
+     * Compiled messages for each locale, with missing keys already filled from the default locale.
+     *
+     * @param locales  messages by locale
+     * @param defaults messages of the default locale
+     */
+    private record Translations(Map<Locale, Map<String, String>> locales, Map<String, String> defaults) {
+    }
+
 }
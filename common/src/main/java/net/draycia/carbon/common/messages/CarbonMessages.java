@@ -254,6 +254,51 @@ public interface CarbonMessages {
     @Message("config.reload.failed")
     void configReloadFailed(final Audience audience);
 
+    /*
+     * =============================================================
+     * ========================= Migration =========================
+     * =============================================================
+     */
+
+    @Message("migration.started")
+    void migrationStarted(final Audience audience, final String from, final String to);
+
+    @Message("migration.progress")
+    void migrationProgress(final Audience audience, final String stage, final int done, final int total);
+
+    @Message("migration.complete")
+    void migrationComplete(final Audience audience, final int players, final int parties, final int seconds);
+
+    @Message("migration.failed")
+    void migrationFailed(final Audience audience);
+
+    @Message("migration.same_storage")
+    void migrationSameStorage(final Audience audience);
+
+    @Message("migration.players_online")
+    void migrationPlayersOnline(final Audience audience);
+
+    @Message("migration.already_running")
+    void migrationAlreadyRunning(final Audience audience);
+
+    @Message("migration.automatic")
+    void migrationAutomatic(final Audience audience);
+
+    @Message("migration.database_settings_missing")
+    void migrationDatabaseSettingsMissing(final Audience audience);
+
+    @Message("migration.same_database")
+    void migrationSameDatabase(final Audience audience);
+
+    @Message("metrics.disabled")
+    void metricsDisabled(final Audience audience);
+
+    @Message("metrics.header")
+    void metricsHeader(final Audience audience);
+
+    @Message("metrics.entry")
+    void metricsEntry(final Audience audience, final String name, final String value);
+
     /*
      * =============================================================
      * ====================== Cloud Messages =======================
@@ -306,6 +351,9 @@ public interface CarbonMessages {
     @Message("command.debug.description")
     Component commandDebugDescription();
 
+    @Message("command.debug.traces.description")
+    Component commandDebugTracesDescription();
+
     @Message("command.help.argument.query")
     Component commandHelpArgumentQuery();
 
@@ -381,6 +429,12 @@ public interface CarbonMessages {
     @Message("command.nickname.others.description")
     Component commandNicknameOthersDescription();
 
+    @Message("command.metrics.description")
+    Component commandMetricsDescription();
+
+    @Message("command.migrate.description")
+    Component commandMigrateDescription();
+
     @Message("command.reload.description")
     Component commandReloadDescription();
 
@@ -54,6 +54,10 @@ public final class TagPermissions {
     }
 
     public static Component parseTags(final String basePermission, final String message, final Predicate<String> permission, final TagResolver.Builder resolver) {
+        if (plain(message)) {
+            return Component.text(message);
+        }
+
         boolean hasAllDecorations = false;
         for (final Map.Entry<String, TagResolver> entry : DEFAULT_TAGS.entrySet()) {
             if (permission.test(basePermission + '.' + entry.getKey())) {
@@ -83,4 +87,21 @@ public final class TagPermissions {
         return parseTags(basePermission, message, permission, TagResolver.builder());
     }
 
+    /**
+     * Checks whether MiniMessage would parse {@code message} into a single text component of the same content,
+     * that is whether it contains neither a tag opening nor an escape character.
+     *
+     * @param message message
+     * @return whether the message can skip tag parsing
+     */
+    public static boolean plain(final String message) {
+        for (int i = 0, length = message.length(); i < length; i++) {
+            final char c = message.charAt(i);
+            if (c == '<' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
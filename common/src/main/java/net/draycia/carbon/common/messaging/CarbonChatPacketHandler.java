@@ -30,6 +30,7 @@ import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.KeyedRenderer;
 import net.draycia.carbon.common.command.commands.WhisperCommand;
 import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.messaging.packets.ChatMessagePacket;
 import net.draycia.carbon.common.messaging.packets.DisbandPartyPacket;
 import net.draycia.carbon.common.messaging.packets.InvalidatePartyInvitePacket;
@@ -39,6 +40,7 @@ import net.draycia.carbon.common.messaging.packets.PartyChangePacket;
 import net.draycia.carbon.common.messaging.packets.PartyInvitePacket;
 import net.draycia.carbon.common.messaging.packets.SaveCompletedPacket;
 import net.draycia.carbon.common.messaging.packets.WhisperPacket;
+import net.draycia.carbon.common.metrics.Metrics;
 import net.draycia.carbon.common.users.NetworkUsers;
 import net.draycia.carbon.common.users.PartyInvites;
 import net.draycia.carbon.common.users.UserManagerInternal;
@@ -46,6 +48,7 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import ninja.egg82.messenger.handler.AbstractMessagingHandler;
 import ninja.egg82.messenger.packets.Packet;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -60,14 +63,22 @@ public final class CarbonChatPacketHandler extends AbstractMessagingHandler {
     private final NetworkUsers networkUsers;
     private final WhisperCommand.WhisperHandler whisper;
     private final PartyInvites partyInvites;
+    private final Logger logger;
+    private final ChatDelivery chatDelivery;
+    private final Metrics metrics;
+    private final Metrics.Counter packetsReceived;
+    private final Metrics.Histogram handleTimer;
 
     CarbonChatPacketHandler(
+        final Logger logger,
         final CarbonChat carbonChat,
         final MessagingManager messagingManager,
         final UserManagerInternal<?> userManager,
         final NetworkUsers networkUsers,
         final WhisperCommand.WhisperHandler whisper,
-        final PartyInvites partyInvites
+        final PartyInvites partyInvites,
+        final ChatDelivery chatDelivery,
+        final Metrics metrics
     ) {
         super(messagingManager.requirePacketService());
         this.events = carbonChat.eventHandler();
@@ -77,10 +88,23 @@ public final class CarbonChatPacketHandler extends AbstractMessagingHandler {
         this.networkUsers = networkUsers;
         this.whisper = whisper;
         this.partyInvites = partyInvites;
+        this.logger = logger;
+        this.chatDelivery = chatDelivery;
+        this.metrics = metrics;
+        this.packetsReceived = metrics.counter("carbon_messaging_packets_received_total", "Packets received from the messaging broker.");
+        this.handleTimer = metrics.timer("carbon_messaging_packet_handle_seconds", "Time taken to handle a received packet.");
     }
 
     @Override
     protected boolean handlePacket(final Packet packet) {
+        this.packetsReceived.increment();
+        final long start = this.metrics.start();
+        final boolean handled = this.dispatch(packet);
+        this.handleTimer.stop(start);
+        return handled;
+    }
+
+    private boolean dispatch(final Packet packet) {
         if (packet instanceof SaveCompletedPacket statePacket) {
             this.userManager.saveCompleteMessageReceived(statePacket.playerId());
             return true;
@@ -113,33 +137,43 @@ public final class CarbonChatPacketHandler extends AbstractMessagingHandler {
         return false;
     }
 
-    private boolean handleMessagePacket(final ChatMessagePacket messagePacket) {
-        final CarbonPlayer sender = this.userManager.user(messagePacket.userId()).join();
-
+    private void handleMessagePacket(final ChatMessagePacket messagePacket) {
         final @Nullable ChatChannel channel = this.channels.channel(messagePacket.channelKey());
 
         if (channel == null) {
-            return false;
+            return;
         }
 
+        // Don't hold up the messaging thread on a cold user load
+        this.userManager.user(messagePacket.userId())
+            .thenAccept(sender -> this.handleMessagePacket(messagePacket, sender, channel))
+            .whenComplete(($, thr) -> {
+                if (thr != null) {
+                    this.logger.warn("Exception handling chat message packet {}", messagePacket, thr);
+                }
+            });
+    }
+
+    private void handleMessagePacket(final ChatMessagePacket messagePacket, final CarbonPlayer sender, final ChatChannel channel) {
         final List<KeyedRenderer> renderers = new ArrayList<>();
 
         final List<Audience> recipients = channel.recipients(sender);
         final CarbonChatEventImpl chatEvent = new CarbonChatEventImpl(sender, messagePacket.message(), recipients, renderers, channel, null, false);
         this.events.emit(chatEvent);
 
+        final List<Audience> permitted = new ArrayList<>(recipients.size());
         for (final Audience recipient : recipients) {
             if (recipient instanceof CarbonPlayer carbonRecipient
                 && !carbonRecipient.hasPermission("carbon.crossserver")) {
                 continue;
             }
 
-            recipient.sendMessage(chatEvent.renderFor(recipient));
+            permitted.add(recipient);
         }
 
-        this.server.console().sendMessage(Component.text("[Cross-Server] ").append(chatEvent.message()));
+        this.chatDelivery.deliver(chatEvent, permitted, Audience::sendMessage);
 
-        return true;
+        this.server.console().sendMessage(Component.text("[Cross-Server] ").append(chatEvent.message()));
     }
 
 }
@@ -31,6 +31,7 @@ import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import net.draycia.carbon.api.CarbonChat;
@@ -40,6 +41,7 @@ import net.draycia.carbon.common.CarbonChatInternal;
 import net.draycia.carbon.common.command.commands.WhisperCommand;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.config.MessagingSettings;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.messaging.packets.ChatMessagePacket;
 import net.draycia.carbon.common.messaging.packets.DisbandPartyPacket;
 import net.draycia.carbon.common.messaging.packets.InvalidatePartyInvitePacket;
@@ -50,6 +52,7 @@ import net.draycia.carbon.common.messaging.packets.PartyChangePacket;
 import net.draycia.carbon.common.messaging.packets.PartyInvitePacket;
 import net.draycia.carbon.common.messaging.packets.SaveCompletedPacket;
 import net.draycia.carbon.common.messaging.packets.WhisperPacket;
+import net.draycia.carbon.common.metrics.Metrics;
 import net.draycia.carbon.common.users.NetworkUsers;
 import net.draycia.carbon.common.users.PartyInvites;
 import net.draycia.carbon.common.users.UserManagerInternal;
@@ -88,6 +91,11 @@ public class MessagingManager {
     private final @MonotonicNonNull ScheduledExecutorService scheduledExecutor;
     private final @MonotonicNonNull MessagingService messagingService;
     private volatile @MonotonicNonNull PacketService packetService;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Metrics metrics;
+    private final Metrics.Counter packetsSent;
+    private final Metrics.Histogram flushSizes;
+    private final Metrics.Histogram flushTimer;
 
     @Inject
     public MessagingManager(
@@ -100,10 +108,17 @@ public class MessagingManager {
         final NetworkUsers networkUsers,
         final WhisperCommand.WhisperHandler whisper,
         final PacketFactory packetFactory,
-        final PartyInvites partyInvites
+        final PartyInvites partyInvites,
+        final ChatDelivery chatDelivery,
+        final Metrics metrics
     ) {
         this.serverId = serverId;
         this.logger = logger;
+        this.metrics = metrics;
+        this.packetsSent = metrics.counter("carbon_messaging_packets_sent_total", "Packets sent to the messaging broker.");
+        this.flushSizes = metrics.histogram("carbon_messaging_flush_size", "Packets sent per queue flush.", 1, 2, 5, 10, 25, 50, 100, 250);
+        this.flushTimer = metrics.timer("carbon_messaging_flush_seconds", "Time taken to flush the outgoing packet queue.");
+        metrics.gauge("carbon_messaging_queue_depth", "Packets queued and waiting for the next flush.", this.queued::get);
         final boolean proxy = ((CarbonChatInternal) carbonChat).isProxy();
         if (proxy || !configManager.primaryConfig().messagingSettings().enabled()) {
             if (!proxy) {
@@ -140,7 +155,7 @@ public class MessagingManager {
 
         final MessagingHandlerImpl handlerImpl = new MessagingHandlerImpl(this.packetService);
         handlerImpl.addHandler(new CarbonServerHandler(server, serverId, this.packetService, handlerImpl, packetFactory));
-        handlerImpl.addHandler(new CarbonChatPacketHandler(carbonChat, this, userManager, networkUsers, whisper, partyInvites));
+        handlerImpl.addHandler(new CarbonChatPacketHandler(logger, carbonChat, this, userManager, networkUsers, whisper, partyInvites, chatDelivery, metrics));
 
         try {
             this.messagingService = this.initMessagingService(
@@ -156,17 +171,19 @@ public class MessagingManager {
         this.packetService.addMessenger(this.messagingService);
 
         this.packetService.queuePacket(new InitializationPacket(serverId, protocolVersion));
-        this.packetService.flushQueue();
+        this.queued.incrementAndGet();
+        this.flush(this.packetService);
 
         // Broadcast keepalive packets
         this.scheduledExecutor.scheduleAtFixedRate(() -> {
             this.packetService.queuePacket(new KeepAlivePacket(serverId));
-            this.packetService.flushQueue();
+            this.queued.incrementAndGet();
+            this.flush(this.packetService);
         }, 5, 5, TimeUnit.SECONDS);
 
         this.scheduledExecutor.scheduleAtFixedRate(() -> {
             try {
-                this.packetService.flushQueue();
+                this.flush(this.packetService);
             } catch (final IndexOutOfBoundsException ignored) {
 
             }
@@ -186,12 +203,28 @@ public class MessagingManager {
     public void queuePacketAndFlush(final Supplier<? extends AbstractPacket> makePacket) {
         this.withPacketService(service -> {
             service.queuePacket(makePacket.get());
-            service.flushQueue();
+            this.queued.incrementAndGet();
+            this.flush(service);
         });
     }
 
     public void queuePacket(final Supplier<? extends AbstractPacket> makePacket) {
-        this.withPacketService(service -> service.queuePacket(makePacket.get()));
+        this.withPacketService(service -> {
+            service.queuePacket(makePacket.get());
+            this.queued.incrementAndGet();
+        });
+    }
+
+    private void flush(final PacketService service) {
+        // only counts packets queued through this class, which is all of them but the replies to server initialization
+        final int size = this.queued.getAndSet(0);
+        final long start = this.metrics.start();
+        service.flushQueue();
+        if (size > 0) {
+            this.flushTimer.stop(start);
+            this.flushSizes.observe(size);
+            this.packetsSent.add(size);
+        }
     }
 
     public void onShutdown() {
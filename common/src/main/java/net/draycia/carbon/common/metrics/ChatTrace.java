@@ -0,0 +1,215 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.metrics;
+
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.api.util.KeyedRenderer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Timings for each stage of processing a single chat message.
+ *
+ * <p>While the pipeline runs the trace is bound to the processing thread, so the event bus can time
+ * each subscriber without the trace being passed through the API. Renders may happen on other threads
+ * and are recorded through the chat event instead.</p>
+ */
+@DefaultQualifier(NonNull.class)
+public final class ChatTrace {
+
+    private static final ThreadLocal<@Nullable ChatTrace> CURRENT = new ThreadLocal<>();
+    private static final ClassValue<String> OWNERS = new ClassValue<>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            return owner(type);
+        }
+    };
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>();
+    private final Map<String, long[]> renderers = new LinkedHashMap<>();
+    private String subject = "unknown";
+    private long totalNanos = -1;
+
+    ChatTrace() {
+    }
+
+    /**
+     * Gets the trace bound to the current thread.
+     *
+     * @return the current trace, or {@code null} when not tracing
+     */
+    public static @Nullable ChatTrace current() {
+        return CURRENT.get();
+    }
+
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    public long startNanos() {
+        return this.startNanos;
+    }
+
+    public Instant startedAt() {
+        return this.startedAt;
+    }
+
+    public void subject(final String sender, final String channel) {
+        this.subject = sender + " in " + channel;
+    }
+
+    public String subject() {
+        return this.subject;
+    }
+
+    public long mark() {
+        return System.nanoTime();
+    }
+
+    public void stage(final String name, final long start) {
+        this.stage(name, start, null);
+    }
+
+    /**
+     * Records a stage that started at {@code start} and ended now.
+     *
+     * @param name  stage name
+     * @param start start time, from {@link #mark()}
+     * @param owner the plugin or jar the stage's code belongs to, if known
+     */
+    public synchronized void stage(final String name, final long start, final @Nullable String owner) {
+        if (this.finished()) {
+            return;
+        }
+        this.stages.add(new Stage(name, System.nanoTime() - start, owner));
+    }
+
+    /**
+     * Records the time a renderer took for one recipient. Totals are kept per renderer.
+     *
+     * @param renderer renderer
+     * @param start    start time, from {@link #mark()}
+     */
+    public void rendered(final KeyedRenderer renderer, final long start) {
+        final long elapsed = System.nanoTime() - start;
+        synchronized (this) {
+            if (this.finished()) {
+                return;
+            }
+            final long[] total = this.renderers.computeIfAbsent(renderer.key().asString(), $ -> new long[2]);
+            total[0] += elapsed;
+            total[1]++;
+        }
+    }
+
+    synchronized boolean finish() {
+        if (this.finished()) {
+            return false;
+        }
+        this.totalNanos = System.nanoTime() - this.startNanos;
+        return true;
+    }
+
+    public synchronized boolean finished() {
+        return this.totalNanos >= 0;
+    }
+
+    public synchronized long totalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.finished() ? this.totalNanos : System.nanoTime() - this.startNanos);
+    }
+
+    public synchronized List<Stage> stages() {
+        final List<Stage> stages = new ArrayList<>(this.stages);
+        this.renderers.forEach((key, total) ->
+            stages.add(new Stage("renderer " + key + " (x" + total[1] + ")", total[0], key.substring(0, key.indexOf(':')))));
+        return stages;
+    }
+
+    /**
+     * Formats the trace as a multi-line breakdown, for logging.
+     *
+     * @return breakdown
+     */
+    public String format() {
+        final StringBuilder out = new StringBuilder();
+        out.append(this.subject).append(" took ").append(this.totalMillis()).append("ms");
+        for (final Stage stage : this.stages()) {
+            out.append("\n  ").append(stage.describe());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Describes the owner of a class, usually the jar of the plugin it was loaded from.
+     *
+     * @param type class
+     * @return owner
+     */
+    public static String ownerOf(final Class<?> type) {
+        return OWNERS.get(type);
+    }
+
+    private static String owner(final Class<?> type) {
+        try {
+            final @Nullable CodeSource source = type.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null) {
+                final @Nullable Path file = Path.of(source.getLocation().toURI()).getFileName();
+                if (file != null) {
+                    return file.toString();
+                }
+            }
+        } catch (final Exception ignored) {
+        }
+        final @Nullable ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return "bootstrap";
+        }
+        final @Nullable String name = loader.getName();
+        return name == null ? loader.getClass().getSimpleName() : name;
+    }
+
+    public record Stage(String name, long nanos, @Nullable String owner) {
+
+        public double millis() {
+            return this.nanos / 1_000_000.0;
+        }
+
+        public String describe() {
+            final String timing = String.format("%.3fms", this.millis());
+            return this.owner == null ? this.name + ": " + timing : this.name + " [" + this.owner + "]: " + timing;
+        }
+
+    }
+
+}
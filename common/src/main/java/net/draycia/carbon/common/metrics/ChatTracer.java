@@ -0,0 +1,102 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.metrics;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.config.TracingSettings;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Starts {@link ChatTrace chat traces} when tracing is enabled, logs slow ones and keeps a sample
+ * of recent traces for {@code /carbondebug traces}.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class ChatTracer {
+
+    private final ConfigManager configManager;
+    private final Logger logger;
+    private final AtomicLong finished = new AtomicLong();
+    private final Deque<ChatTrace> recent = new ArrayDeque<>();
+
+    @Inject
+    private ChatTracer(final ConfigManager configManager, final Logger logger) {
+        this.configManager = configManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts a trace, if tracing is enabled.
+     *
+     * @return the new trace, or {@code null} when tracing is disabled
+     */
+    public @Nullable ChatTrace begin() {
+        return this.configManager.primaryConfig().tracingSettings().enabled() ? new ChatTrace() : null;
+    }
+
+    /**
+     * Completes a trace, logging it when slow and keeping it when sampled. Traces are only
+     * completed once, further calls are ignored.
+     *
+     * @param trace trace, may be {@code null} for convenience
+     */
+    public void finish(final @Nullable ChatTrace trace) {
+        if (trace == null || !trace.finish()) {
+            return;
+        }
+
+        final TracingSettings settings = this.configManager.primaryConfig().tracingSettings();
+        final boolean slow = settings.slowThresholdMillis() > 0 && trace.totalMillis() >= settings.slowThresholdMillis();
+        if (slow) {
+            this.logger.warn("Slow chat message: {}", trace.format());
+        }
+
+        if (slow || this.finished.getAndIncrement() % settings.sampleEvery() == 0) {
+            synchronized (this.recent) {
+                this.recent.addFirst(trace);
+                while (this.recent.size() > settings.bufferSize()) {
+                    this.recent.removeLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the kept traces, newest first.
+     *
+     * @return recent traces
+     */
+    public List<ChatTrace> recent() {
+        synchronized (this.recent) {
+            return new ArrayList<>(this.recent);
+        }
+    }
+
+}
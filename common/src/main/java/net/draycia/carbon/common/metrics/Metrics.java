@@ -0,0 +1,307 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.metrics;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import net.draycia.carbon.api.event.CarbonEventHandler;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.event.events.CarbonReloadEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Registry of Carbon's internal counters, histograms and gauges.
+ *
+ * <p>Metrics are registered once, usually when the owning component is constructed, and recording
+ * into them only costs a volatile read while metrics are disabled in the config. Timings are taken with
+ * {@link #start()} and {@link Histogram#stop(long)}, which skip reading the clock when disabled.</p>
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class Metrics {
+
+    // 100µs to 10s, in nanoseconds
+    private static final long[] TIMER_BUCKETS = {
+        100_000L, 250_000L, 500_000L,
+        1_000_000L, 2_500_000L, 5_000_000L,
+        10_000_000L, 25_000_000L, 50_000_000L,
+        100_000_000L, 250_000_000L, 500_000_000L,
+        1_000_000_000L, 2_500_000_000L, 10_000_000_000L
+    };
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConfigManager configManager;
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    @Inject
+    private Metrics(final ConfigManager configManager, final CarbonEventHandler events) {
+        this.configManager = configManager;
+        this.enabled = configManager.primaryConfig().metricsSettings().enabled();
+        events.subscribe(CarbonReloadEvent.class, -99, true, event ->
+            this.enabled = this.configManager.primaryConfig().metricsSettings().enabled());
+    }
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Starts a timing, to be passed to {@link Histogram#stop(long)}.
+     *
+     * @return the current {@link System#nanoTime()}, or {@code 0} while disabled
+     */
+    public long start() {
+        return this.enabled ? System.nanoTime() : 0;
+    }
+
+    public Counter counter(final String name, final String help) {
+        return (Counter) this.metrics.computeIfAbsent(name, $ -> new Counter(this, name, help));
+    }
+
+    public Histogram timer(final String name, final String help) {
+        return (Histogram) this.metrics.computeIfAbsent(name, $ -> new Histogram(this, name, help, TIMER_BUCKETS, 1 / NANOS_PER_SECOND));
+    }
+
+    public Histogram histogram(final String name, final String help, final long... buckets) {
+        return (Histogram) this.metrics.computeIfAbsent(name, $ -> new Histogram(this, name, help, buckets, 1));
+    }
+
+    public void gauge(final String name, final String help, final LongSupplier value) {
+        this.metrics.put(name, new Gauge(name, help, value));
+    }
+
+    public List<Metric> all() {
+        final List<Metric> all = new ArrayList<>(this.metrics.values());
+        all.sort((a, b) -> a.name().compareTo(b.name()));
+        return all;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format.
+     *
+     * @param out output
+     */
+    public void writePrometheus(final StringBuilder out) {
+        for (final Metric metric : this.all()) {
+            out.append("# HELP ").append(metric.name()).append(' ').append(metric.help()).append('\n');
+            out.append("# TYPE ").append(metric.name()).append(' ').append(metric.type()).append('\n');
+            metric.writePrometheus(out);
+        }
+    }
+
+    public sealed interface Metric permits Counter, Gauge, Histogram {
+
+        String name();
+
+        String help();
+
+        String type();
+
+        void writePrometheus(StringBuilder out);
+
+        /**
+         * A short human-readable summary of the current value.
+         *
+         * @return summary
+         */
+        String summary();
+
+    }
+
+    public static final class Counter implements Metric {
+
+        private final Metrics metrics;
+        private final String name;
+        private final String help;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(final Metrics metrics, final String name, final String help) {
+            this.metrics = metrics;
+            this.name = name;
+            this.help = help;
+        }
+
+        public void increment() {
+            if (this.metrics.enabled) {
+                this.value.increment();
+            }
+        }
+
+        public void add(final long amount) {
+            if (this.metrics.enabled) {
+                this.value.add(amount);
+            }
+        }
+
+        public long value() {
+            return this.value.sum();
+        }
+
+        @Override
+        public String name() {
+            return this.name;
+        }
+
+        @Override
+        public String help() {
+            return this.help;
+        }
+
+        @Override
+        public String type() {
+            return "counter";
+        }
+
+        @Override
+        public void writePrometheus(final StringBuilder out) {
+            out.append(this.name).append(' ').append(this.value()).append('\n');
+        }
+
+        @Override
+        public String summary() {
+            return Long.toString(this.value());
+        }
+
+    }
+
+    public record Gauge(String name, String help, LongSupplier value) implements Metric {
+
+        @Override
+        public String type() {
+            return "gauge";
+        }
+
+        @Override
+        public void writePrometheus(final StringBuilder out) {
+            out.append(this.name).append(' ').append(this.value.getAsLong()).append('\n');
+        }
+
+        @Override
+        public String summary() {
+            return Long.toString(this.value.getAsLong());
+        }
+
+    }
+
+    public static final class Histogram implements Metric {
+
+        private final Metrics metrics;
+        private final String name;
+        private final String help;
+        private final long[] bounds;
+        private final double scale;
+        private final LongAdder[] buckets;
+        private final LongAdder sum = new LongAdder();
+
+        private Histogram(final Metrics metrics, final String name, final String help, final long[] bounds, final double scale) {
+            this.metrics = metrics;
+            this.name = name;
+            this.help = help;
+            this.bounds = bounds.clone();
+            this.scale = scale;
+            // the last bucket counts everything above the highest bound
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < this.buckets.length; i++) {
+                this.buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observe(final long value) {
+            if (!this.metrics.enabled) {
+                return;
+            }
+            int bucket = 0;
+            while (bucket < this.bounds.length && value > this.bounds[bucket]) {
+                bucket++;
+            }
+            this.buckets[bucket].increment();
+            this.sum.add(value);
+        }
+
+        /**
+         * Records the time elapsed since {@code start}, unless it came from {@link Metrics#start()}
+         * while disabled.
+         *
+         * @param start start time
+         */
+        public void stop(final long start) {
+            if (start != 0) {
+                this.observe(System.nanoTime() - start);
+            }
+        }
+
+        public long count() {
+            long count = 0;
+            for (final LongAdder bucket : this.buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        public double mean() {
+            final long count = this.count();
+            return count == 0 ? 0 : this.sum.sum() * this.scale / count;
+        }
+
+        @Override
+        public String name() {
+            return this.name;
+        }
+
+        @Override
+        public String help() {
+            return this.help;
+        }
+
+        @Override
+        public String type() {
+            return "histogram";
+        }
+
+        @Override
+        public void writePrometheus(final StringBuilder out) {
+            long cumulative = 0;
+            for (int i = 0; i < this.bounds.length; i++) {
+                cumulative += this.buckets[i].sum();
+                out.append(this.name).append("_bucket{le=\"").append(this.bounds[i] * this.scale).append("\"} ").append(cumulative).append('\n');
+            }
+            cumulative += this.buckets[this.bounds.length].sum();
+            out.append(this.name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+            out.append(this.name).append("_sum ").append(this.sum.sum() * this.scale).append('\n');
+            out.append(this.name).append("_count ").append(cumulative).append('\n');
+        }
+
+        @Override
+        public String summary() {
+            return "count=" + this.count() + " mean=" + String.format("%.6g", this.mean());
+        }
+
+    }
+
+}
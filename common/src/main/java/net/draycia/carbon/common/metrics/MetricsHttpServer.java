@@ -0,0 +1,103 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.metrics;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.config.MetricsSettings;
+import net.draycia.carbon.common.util.ConcurrentUtil;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Serves {@link Metrics} in the Prometheus text format on {@code /metrics}, when enabled in the config.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class MetricsHttpServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Metrics metrics;
+    private final ConfigManager configManager;
+    private final Logger logger;
+    private @Nullable HttpServer server;
+    private @Nullable ExecutorService executor;
+
+    @Inject
+    private MetricsHttpServer(final Metrics metrics, final ConfigManager configManager, final Logger logger) {
+        this.metrics = metrics;
+        this.configManager = configManager;
+        this.logger = logger;
+    }
+
+    public synchronized void start() {
+        final MetricsSettings settings = this.configManager.primaryConfig().metricsSettings();
+        if (!settings.httpEnabled() || this.server != null) {
+            return;
+        }
+
+        try {
+            final HttpServer server = HttpServer.create(new InetSocketAddress(settings.httpAddress(), settings.httpPort()), 0);
+            server.createContext("/metrics", exchange -> {
+                try (exchange) {
+                    final StringBuilder out = new StringBuilder();
+                    this.metrics.writePrometheus(out);
+                    final byte[] body = out.toString().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (final OutputStream stream = exchange.getResponseBody()) {
+                        stream.write(body);
+                    }
+                }
+            });
+            this.executor = Executors.newSingleThreadExecutor(ConcurrentUtil.carbonThreadFactory(this.logger, "MetricsHttpServer"));
+            server.setExecutor(this.executor);
+            server.start();
+            this.server = server;
+            this.logger.info("Serving metrics on http://{}:{}/metrics", settings.httpAddress(), settings.httpPort());
+        } catch (final IOException ex) {
+            this.logger.warn("Failed to start metrics HTTP server on {}:{}", settings.httpAddress(), settings.httpPort(), ex);
+        }
+    }
+
+    public synchronized void stop() {
+        if (this.server != null) {
+            this.server.stop(0);
+            this.server = null;
+        }
+        if (this.executor != null) {
+            ConcurrentUtil.shutdownExecutor(this.executor, TimeUnit.MILLISECONDS, 500);
+            this.executor = null;
+        }
+    }
+
+}
@@ -25,7 +25,9 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.inject.Injector;
 import com.google.inject.Provider;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -46,6 +48,7 @@ import net.draycia.carbon.common.messaging.MessagingManager;
 import net.draycia.carbon.common.messaging.packets.DisbandPartyPacket;
 import net.draycia.carbon.common.messaging.packets.PacketFactory;
 import net.draycia.carbon.common.messaging.packets.PartyChangePacket;
+import net.draycia.carbon.common.metrics.Metrics;
 import net.draycia.carbon.common.users.db.DatabaseUserManager;
 import net.draycia.carbon.common.util.ConcurrentUtil;
 import net.kyori.adventure.text.Component;
@@ -75,6 +78,13 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
     private final Cache<UUID, Object> recentDisbands = Caffeine.newBuilder()
         .expireAfterWrite(DISBAND_DELAY + 10, TimeUnit.SECONDS)
         .build();
+    private final Map<UUID, PendingSave> pendingSaves = new LinkedHashMap<>();
+    private final Metrics metrics;
+    private final Metrics.Counter cacheHits;
+    private final Metrics.Counter cacheMisses;
+    private final Metrics.Histogram loadTimer;
+    private final Metrics.Histogram saveTimer;
+    private final Metrics.Histogram saveBatchSize;
 
     protected CachingUserManager(
         final Logger logger,
@@ -95,11 +105,27 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
         this.packetFactory = packetFactory;
         this.server = server;
         this.cacheLock = new ReentrantLock();
+
+        this.metrics = injector.getInstance(Metrics.class);
+        this.cacheHits = this.metrics.counter("carbon_user_cache_hits_total", "Player lookups answered from the user cache.");
+        this.cacheMisses = this.metrics.counter("carbon_user_cache_misses_total", "Player lookups that had to load from storage.");
+        this.loadTimer = this.metrics.timer("carbon_storage_load_seconds", "Time taken to load a batch of players from storage.");
+        this.saveTimer = this.metrics.timer("carbon_storage_save_seconds", "Time taken to save a batch of players or a party to storage.");
+        this.saveBatchSize = this.metrics.histogram("carbon_storage_save_batch_size", "Players written per storage save.", 1, 2, 5, 10, 25, 50, 100, 250);
         this.cache = new HashMap<>();
     }
 
     protected abstract CarbonPlayerCommon loadOrCreate(UUID uuid);
 
+    // Backends able to fetch several players in one round trip should override this
+    protected Map<UUID, CarbonPlayerCommon> loadOrCreate(final Collection<UUID> uuids) {
+        final Map<UUID, CarbonPlayerCommon> loaded = new HashMap<>();
+        for (final UUID uuid : uuids) {
+            loaded.put(uuid, this.loadOrCreate(uuid));
+        }
+        return loaded;
+    }
+
     protected abstract void saveSync(CarbonPlayerCommon player);
 
     protected abstract @Nullable PartyImpl loadParty(UUID uuid);
@@ -108,12 +134,93 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
 
     protected abstract void disbandSync(UUID id);
 
-    private CompletableFuture<Void> save(final CarbonPlayerCommon player) {
-        return CompletableFuture.runAsync(() -> {
+    // Storage migration support, see StorageMigration.
+    // Returns up to limit ids following after, in an order the backend can page through from any returned id
+    protected abstract List<UUID> userIds(@Nullable UUID after, int limit);
+
+    protected abstract List<UUID> partyIds(@Nullable UUID after, int limit);
+
+    protected abstract int userCount();
+
+    protected abstract int partyCount();
+
+    // Writes players unconditionally, including ignores and left channels that weren't changed since loading
+    protected void importSync(final List<CarbonPlayerCommon> players) {
+        for (final CarbonPlayerCommon player : players) {
             this.saveSync(player);
-            player.saved();
+        }
+    }
+
+    protected void importSync(final PartyImpl party) {
+        final Map<UUID, PartyImpl.ChangeType> members = new HashMap<>();
+        for (final UUID member : party.rawMembers()) {
+            members.put(member, PartyImpl.ChangeType.ADD);
+        }
+        this.saveSync(party, members);
+    }
+
+    // Saves a batch of players, returning failures by player id so one bad player doesn't fail the rest.
+    // Backends that can write several players more cheaply at once should override this.
+    protected Map<UUID, Throwable> saveSync(final List<CarbonPlayerCommon> players) {
+        final Map<UUID, Throwable> failures = new HashMap<>();
+        for (final CarbonPlayerCommon player : players) {
+            try {
+                this.saveSync(player);
+            } catch (final Exception ex) {
+                failures.put(player.uuid(), ex);
+            }
+        }
+        return failures;
+    }
+
+    private CompletableFuture<Void> save(final CarbonPlayerCommon player) {
+        final boolean scheduleDrain;
+        final PendingSave pending;
+        synchronized (this.pendingSaves) {
+            scheduleDrain = this.pendingSaves.isEmpty();
+            pending = this.pendingSaves.compute(player.uuid(), (id, existing) ->
+                new PendingSave(player, existing == null ? new CompletableFuture<>() : existing.future()));
+        }
+        if (scheduleDrain) {
+            this.executor.execute(this::drainPendingSaves);
+        }
+        return pending.future();
+    }
+
+    // Saves requested while the executor was busy are written together, and repeated saves of one player collapse into one
+    private void drainPendingSaves() {
+        final List<PendingSave> saves;
+        synchronized (this.pendingSaves) {
+            saves = List.copyOf(this.pendingSaves.values());
+            this.pendingSaves.clear();
+        }
+
+        // dirty flags are taken before writing; changes made during the save keep the player dirty
+        for (final PendingSave save : saves) {
+            save.player().beginSave();
+        }
+
+        Map<UUID, Throwable> failures;
+        final long start = this.metrics.start();
+        try {
+            failures = this.saveSync(saves.stream().map(PendingSave::player).toList());
+        } catch (final Throwable thr) {
+            failures = saves.stream().collect(Collectors.toMap(save -> save.player().uuid(), $ -> thr));
+        }
+        this.saveTimer.stop(start);
+        this.saveBatchSize.observe(saves.size());
+
+        for (final PendingSave save : saves) {
+            final CarbonPlayerCommon player = save.player();
+            final @Nullable Throwable failure = failures.get(player.uuid());
+            player.endSave(failure == null);
+            if (failure != null) {
+                save.future().completeExceptionally(failure);
+                continue;
+            }
             this.messagingManager.get().queuePacketAndFlush(() -> this.packetFactory.saveCompletedPacket(player.uuid()));
-        }, this.executor);
+            save.future().complete(null);
+        }
     }
 
     @Override
@@ -143,22 +250,77 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
     public CompletableFuture<CarbonPlayerCommon> user(final UUID uuid) {
         this.cacheLock.lock();
         try {
-            return this.cache.computeIfAbsent(uuid, $ -> {
-                final CompletableFuture<CarbonPlayerCommon> future = CompletableFuture.supplyAsync(() -> {
-                    final CarbonPlayerCommon player = this.loadOrCreate(uuid);
-                    this.injector.injectMembers(player);
-                    if (this instanceof DatabaseUserManager) {
-                        player.registerPropertyUpdateListener(() ->
-                            this.save(player).exceptionally(saveExceptionHandler(this.logger, player.username, uuid)));
-                    }
-                    return player;
-                }, this.executor);
-                this.attachPostLoad(uuid, future);
-                return future;
-            });
+            final @Nullable CompletableFuture<CarbonPlayerCommon> cached = this.cache.get(uuid);
+            if (cached != null) {
+                this.cacheHits.increment();
+                return cached;
+            }
+            this.cacheMisses.increment();
+            final CompletableFuture<CarbonPlayerCommon> future = CompletableFuture.supplyAsync(() -> {
+                final long start = this.metrics.start();
+                final CarbonPlayerCommon loaded = this.loadOrCreate(uuid);
+                this.loadTimer.stop(start);
+                return this.prepareLoaded(loaded);
+            }, this.executor);
+            this.cache.put(uuid, future);
+            this.attachPostLoad(uuid, future);
+            return future;
+        } finally {
+            this.cacheLock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, CarbonPlayerCommon>> users(final Collection<UUID> uuids) {
+        final Map<UUID, CompletableFuture<CarbonPlayerCommon>> futures = new LinkedHashMap<>();
+        final Map<UUID, CompletableFuture<CarbonPlayerCommon>> missing = new HashMap<>();
+        this.cacheLock.lock();
+        try {
+            for (final UUID uuid : uuids) {
+                futures.computeIfAbsent(uuid, id -> this.cache.computeIfAbsent(id, $ -> {
+                    final CompletableFuture<CarbonPlayerCommon> future = new CompletableFuture<>();
+                    missing.put(id, future);
+                    this.attachPostLoad(id, future);
+                    return future;
+                }));
+            }
         } finally {
             this.cacheLock.unlock();
         }
+        this.cacheHits.add(futures.size() - missing.size());
+        this.cacheMisses.add(missing.size());
+
+        if (!missing.isEmpty()) {
+            // load everything that isn't cached yet in a single task, so backends can batch the lookup
+            this.executor.execute(() -> {
+                try {
+                    final long start = this.metrics.start();
+                    final Map<UUID, CarbonPlayerCommon> loaded = this.loadOrCreate(missing.keySet());
+                    this.loadTimer.stop(start);
+                    missing.forEach((id, future) -> {
+                        final @Nullable CarbonPlayerCommon player = loaded.get(id);
+                        future.complete(this.prepareLoaded(player == null ? new CarbonPlayerCommon(null, id) : player));
+                    });
+                } catch (final Throwable thr) {
+                    missing.values().forEach(future -> future.completeExceptionally(thr));
+                }
+            });
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenApply($ -> {
+            final Map<UUID, CarbonPlayerCommon> result = new LinkedHashMap<>();
+            futures.forEach((id, future) -> result.put(id, future.join()));
+            return result;
+        });
+    }
+
+    private CarbonPlayerCommon prepareLoaded(final CarbonPlayerCommon player) {
+        this.injector.injectMembers(player);
+        if (this instanceof DatabaseUserManager) {
+            player.registerPropertyUpdateListener(() ->
+                this.save(player).exceptionally(saveExceptionHandler(this.logger, player.username, player.uuid())));
+        }
+        return player;
     }
 
     @Override
@@ -216,6 +378,17 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
         } finally {
             this.cacheLock.unlock();
         }
+
+        // Touch the parties of online players well within the cache's access expiry, keeping them resident
+        for (final CarbonPlayer player : this.server.players()) {
+            if (!(player instanceof WrappedCarbonPlayer wrapped)) {
+                continue;
+            }
+            final @Nullable UUID partyId = wrapped.partyId();
+            if (partyId != null) {
+                this.party(partyId);
+            }
+        }
     }
 
     // Don't keep failed requests, so they can be retried on the next request
@@ -229,6 +402,12 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
                 } finally {
                     this.cacheLock.unlock();
                 }
+                return;
+            }
+            // load the party alongside the player so chat never has to wait on it
+            final @Nullable UUID partyId = result.partyId();
+            if (partyId != null) {
+                this.party(partyId);
             }
         });
     }
@@ -255,7 +434,9 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
             if (changes.isEmpty()) {
                 return;
             }
+            final long start = this.metrics.start();
             this.saveSync(info, changes);
+            this.saveTimer.stop(start);
             this.messagingManager.get().queuePacketAndFlush(() -> this.packetFactory.partyChange(info.id(), changes));
         }, this.executor);
     }
@@ -336,4 +517,7 @@ public abstract class CachingUserManager implements UserManagerInternal<CarbonPl
         });
     }
 
+    private record PendingSave(CarbonPlayerCommon player, CompletableFuture<Void> future) {
+    }
+
 }
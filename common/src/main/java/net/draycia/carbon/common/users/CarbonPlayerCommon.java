@@ -60,6 +60,8 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     private transient @MonotonicNonNull @Inject CarbonMessageRenderer messageRenderer;
     private transient @MonotonicNonNull @Inject UserManagerInternal<?> users;
     private volatile transient long transientLoadedSince = -1;
+    // Properties taken by the save in progress, null when no queued save is running
+    private volatile transient @Nullable List<PersistentUserProperty<?>> savingChanges = null;
 
     protected final PersistentUserProperty<Boolean> muted;
     protected final PersistentUserProperty<Boolean> deafened;
@@ -486,6 +488,38 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
         this.properties().forEach(PersistentUserProperty::saved);
     }
 
+    /**
+     * Takes the changed flags of every property before a save starts. Changes made while
+     * the save runs set their flags again, so they are not lost when the save completes.
+     */
+    public void beginSave() {
+        this.savingChanges = this.properties().filter(PersistentUserProperty::takeChanged).toList();
+    }
+
+    /**
+     * Finishes a save started with {@link #beginSave()}, restoring the taken flags if it failed.
+     *
+     * @param success whether the save succeeded
+     */
+    public void endSave(final boolean success) {
+        final @Nullable List<PersistentUserProperty<?>> taken = this.savingChanges;
+        this.savingChanges = null;
+        if (!success && taken != null) {
+            taken.forEach(PersistentUserProperty::markChanged);
+        }
+    }
+
+    // Outside a queued save (e.g. an import) the stored contents are unknown, so they count as changed
+    public boolean ignoringChanged() {
+        final @Nullable List<PersistentUserProperty<?>> taken = this.savingChanges;
+        return taken == null || taken.contains(this.ignoredPlayers);
+    }
+
+    public boolean leftChannelsChanged() {
+        final @Nullable List<PersistentUserProperty<?>> taken = this.savingChanges;
+        return taken == null || taken.contains(this.leftChannels);
+    }
+
     public @Nullable UUID partyId() {
         return this.party.orNull();
     }
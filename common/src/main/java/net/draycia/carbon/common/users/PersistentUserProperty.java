@@ -30,6 +30,7 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -41,7 +42,7 @@ public final class PersistentUserProperty<T> {
 
     private final AtomicReference<@Nullable T> valueReference;
     private final List<Runnable> updateListeners = new CopyOnWriteArrayList<>();
-    private volatile boolean changed = false;
+    private final AtomicBoolean changed = new AtomicBoolean();
 
     public PersistentUserProperty(final @Nullable T value) {
         this.valueReference = new AtomicReference<>(value);
@@ -62,14 +63,30 @@ public final class PersistentUserProperty<T> {
         if (Objects.equals(value, old)) {
             return;
         }
-        this.changed = true;
+        this.changed.set(true);
         for (final Runnable updateListener : this.updateListeners) {
             updateListener.run();
         }
     }
 
     public void saved() {
-        this.changed = false;
+        this.changed.set(false);
+    }
+
+    /**
+     * Clear the changed flag, returning whether it was set. Used to snapshot changes before a save starts.
+     *
+     * @return whether the value changed since the flag was last cleared
+     */
+    public boolean takeChanged() {
+        return this.changed.getAndSet(false);
+    }
+
+    /**
+     * Set the changed flag again, for example after a save of a taken change failed.
+     */
+    public void markChanged() {
+        this.changed.set(true);
     }
 
     public void registerUpdateListener(final Runnable runnable) {
@@ -89,7 +106,7 @@ public final class PersistentUserProperty<T> {
     }
 
     public boolean changed() {
-        return this.changed;
+        return this.changed.get();
     }
 
     public static <T> PersistentUserProperty<T> of(final @Nullable T value) {
@@ -24,6 +24,9 @@ import com.google.inject.Injector;
 import com.google.inject.Module;
 import com.google.inject.Singleton;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import net.draycia.carbon.api.users.Party;
@@ -55,13 +58,24 @@ public final class PlatformUserManager implements UserManagerInternal<WrappedCar
 
     @Override
     public CompletableFuture<WrappedCarbonPlayer> user(final UUID uuid) {
-        return this.backingManager.user(uuid).thenApply(common -> {
-            final WrappedCarbonPlayer wrapped = this.playerFactory.wrap(common);
-            common.markTransientLoaded(!wrapped.online());
+        return this.backingManager.user(uuid).thenApply(this::wrap);
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, WrappedCarbonPlayer>> users(final Collection<UUID> uuids) {
+        return this.backingManager.users(uuids).thenApply(loaded -> {
+            final Map<UUID, WrappedCarbonPlayer> wrapped = new LinkedHashMap<>();
+            loaded.forEach((id, common) -> wrapped.put(id, this.wrap(common)));
             return wrapped;
         });
     }
 
+    private WrappedCarbonPlayer wrap(final CarbonPlayerCommon common) {
+        final WrappedCarbonPlayer wrapped = this.playerFactory.wrap(common);
+        common.markTransientLoaded(!wrapped.online());
+        return wrapped;
+    }
+
     @Override
     public Party createParty(final Component name) {
         final PartyImpl party = PartyImpl.create(name);
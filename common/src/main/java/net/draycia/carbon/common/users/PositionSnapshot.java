@@ -0,0 +1,154 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.users;
+
+import com.google.inject.Singleton;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Latest known world and position of every online player, published by the platform once per tick
+ * from the main thread so chat threads can check distances without touching live entity state.
+ *
+ * <p>Reads are lock-free: each update builds a new immutable snapshot and publishes it through a
+ * volatile field. Until the platform publishes its first snapshot {@link #available()} is {@code false}
+ * and callers should use their own lookups, which is also the case on platforms that never feed it.
+ * A player that joined since the last tick is treated as offline until the next one.</p>
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class PositionSnapshot {
+
+    // Only touched by the thread publishing snapshots
+    private final Map<Object, Integer> worldIds = new HashMap<>();
+    private volatile @Nullable Snapshot latest;
+
+    public boolean available() {
+        return this.latest != null;
+    }
+
+    /**
+     * Returns a stable numeric id for a platform world key. Must be called from the updating thread.
+     *
+     * @param world platform world key
+     * @return world id
+     */
+    public int worldId(final Object world) {
+        return this.worldIds.computeIfAbsent(world, $ -> this.worldIds.size());
+    }
+
+    public Builder builder(final int expectedPlayers) {
+        return new Builder(expectedPlayers);
+    }
+
+    public void publish(final Builder builder) {
+        this.latest = builder.build();
+    }
+
+    /**
+     * Squared distance between two players, or {@code -1} when either isn't in the latest snapshot.
+     *
+     * @param first  first player
+     * @param second second player
+     * @return squared distance
+     */
+    public double distanceSquared(final UUID first, final UUID second) {
+        final @Nullable Snapshot snapshot = this.latest;
+        if (snapshot == null) {
+            return -1;
+        }
+        final int a = snapshot.index(first);
+        final int b = snapshot.index(second);
+        if (a < 0 || b < 0) {
+            return -1;
+        }
+
+        final double deltaX = snapshot.x[a] - snapshot.x[b];
+        final double deltaY = snapshot.y[a] - snapshot.y[b];
+        final double deltaZ = snapshot.z[a] - snapshot.z[b];
+        return (deltaX * deltaX) + (deltaY * deltaY) + (deltaZ * deltaZ);
+    }
+
+    public boolean sameWorld(final UUID first, final UUID second) {
+        final @Nullable Snapshot snapshot = this.latest;
+        if (snapshot == null) {
+            return false;
+        }
+        final int a = snapshot.index(first);
+        final int b = snapshot.index(second);
+        return a >= 0 && b >= 0 && snapshot.worlds[a] == snapshot.worlds[b];
+    }
+
+    public static final class Builder {
+
+        private final Map<UUID, Integer> indexes;
+        private int[] worlds;
+        private double[] x;
+        private double[] y;
+        private double[] z;
+        private int size;
+
+        private Builder(final int expectedPlayers) {
+            final int capacity = Math.max(expectedPlayers, 1);
+            this.indexes = new HashMap<>((int) (capacity / 0.75F) + 1);
+            this.worlds = new int[capacity];
+            this.x = new double[capacity];
+            this.y = new double[capacity];
+            this.z = new double[capacity];
+        }
+
+        public Builder add(final UUID player, final int world, final double x, final double y, final double z) {
+            if (this.size == this.worlds.length) {
+                final int capacity = this.size * 2;
+                this.worlds = Arrays.copyOf(this.worlds, capacity);
+                this.x = Arrays.copyOf(this.x, capacity);
+                this.y = Arrays.copyOf(this.y, capacity);
+                this.z = Arrays.copyOf(this.z, capacity);
+            }
+            this.indexes.put(player, this.size);
+            this.worlds[this.size] = world;
+            this.x[this.size] = x;
+            this.y[this.size] = y;
+            this.z[this.size] = z;
+            this.size++;
+            return this;
+        }
+
+        private Snapshot build() {
+            return new Snapshot(this.indexes, this.worlds, this.x, this.y, this.z);
+        }
+
+    }
+
+    private record Snapshot(Map<UUID, Integer> indexes, int[] worlds, double[] x, double[] y, double[] z) {
+
+        int index(final UUID player) {
+            final @Nullable Integer index = this.indexes.get(player);
+            return index == null ? -1 : index;
+        }
+
+    }
+
+}
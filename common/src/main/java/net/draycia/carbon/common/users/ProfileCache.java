@@ -25,7 +25,6 @@ import com.google.gson.reflect.TypeToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -55,6 +54,7 @@ public final class ProfileCache {
     private final Map<UUID, CacheEntry> byId;
     private final Map<String, CacheEntry> byName;
     private final Set<CacheEntry> entries;
+    private final Object saveLock = new Object();
 
     private record CacheEntry(@Nullable UUID uuid, @Nullable String name, long updated) {
 
@@ -177,12 +177,19 @@ public final class ProfileCache {
         }
     }
 
-    public synchronized void save() {
-        this.cleanup();
-        try (final BufferedWriter writer = Files.newBufferedWriter(FileUtil.mkParentDirs(this.cacheFile))) {
-            this.gson.toJson(this.entries, writer);
-        } catch (final IOException ex) {
-            throw new RuntimeException("Failed to save cache", ex);
+    public void save() {
+        synchronized (this.saveLock) {
+            final String json;
+            synchronized (this) {
+                this.cleanup();
+                json = this.gson.toJson(this.entries);
+            }
+            // lookups don't have to wait for the disk
+            try {
+                FileUtil.writeAtomically(this.cacheFile, json);
+            } catch (final IOException ex) {
+                throw new RuntimeException("Failed to save cache", ex);
+            }
         }
     }
 
@@ -0,0 +1,115 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.users;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import net.draycia.carbon.common.DataDirectory;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.config.DatabaseSettings;
+import net.draycia.carbon.common.config.PrimaryConfig;
+import net.draycia.carbon.common.users.db.DatabaseUserManager;
+import net.draycia.carbon.common.users.db.argument.BinaryUUIDArgumentFactory;
+import net.draycia.carbon.common.users.db.mapper.BinaryUUIDColumnMapper;
+import net.draycia.carbon.common.users.db.mapper.NativeUUIDColumnMapper;
+import net.draycia.carbon.common.users.json.JSONUserManager;
+import net.draycia.carbon.common.users.json.ShardedJSONUserManager;
+import net.draycia.carbon.common.util.FileUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.jdbi.v3.core.h2.H2DatabasePlugin;
+import org.jdbi.v3.postgres.PostgresPlugin;
+
+/**
+ * Creates the {@link CachingUserManager} for a {@link PrimaryConfig.StorageType}.
+ */
+@DefaultQualifier(NonNull.class)
+public final class StorageBackends {
+
+    private final Path dataDirectory;
+    private final Injector injector;
+    private final ConfigManager configManager;
+
+    @Inject
+    private StorageBackends(final @DataDirectory Path dataDirectory, final Injector injector, final ConfigManager configManager) {
+        this.dataDirectory = dataDirectory;
+        this.injector = injector;
+        this.configManager = configManager;
+    }
+
+    /**
+     * Creates the active backend, importing data left behind by the backend it replaces where supported.
+     *
+     * @param storageType storage type
+     * @return the backend
+     * @throws IOException if the backend cannot be set up
+     */
+    public CachingUserManager create(final PrimaryConfig.StorageType storageType) throws IOException {
+        final CachingUserManager backend = this.createDetached(storageType, this.configManager.primaryConfig().databaseSettings());
+        if (backend instanceof ShardedJSONUserManager sharded) {
+            sharded.migrateLegacy();
+        }
+        return backend;
+    }
+
+    /**
+     * Creates a backend alongside the active one, without changing the on disk layout of any other backend.
+     *
+     * @param storageType      storage type
+     * @param databaseSettings connection settings, used by MYSQL and PSQL
+     * @return the backend
+     * @throws IOException if the backend cannot be set up
+     */
+    public CachingUserManager createDetached(final PrimaryConfig.StorageType storageType, final DatabaseSettings databaseSettings) throws IOException {
+        return switch (storageType) {
+            case MYSQL -> this.injector.getInstance(DatabaseUserManager.Factory.class).create(
+                storageType,
+                "queries/migrations/mysql",
+                jdbi -> jdbi.registerArgument(new BinaryUUIDArgumentFactory())
+                    .registerColumnMapper(UUID.class, new BinaryUUIDColumnMapper()),
+                databaseSettings
+            );
+            case PSQL -> this.injector.getInstance(DatabaseUserManager.Factory.class).create(
+                storageType,
+                "queries/migrations/postgresql",
+                jdbi -> jdbi.registerColumnMapper(UUID.class, new NativeUUIDColumnMapper())
+                    .installPlugin(new PostgresPlugin()),
+                databaseSettings
+            );
+            case H2 -> this.injector.getInstance(DatabaseUserManager.Factory.class).create(
+                storageType,
+                "queries/migrations/h2",
+                jdbi -> jdbi.installPlugin(new H2DatabasePlugin()),
+                new DatabaseSettings(
+                    "jdbc:h2:" + FileUtil.mkParentDirs(this.dataDirectory.resolve("users/userdata-h2")).toAbsolutePath() + ";MODE=MySQL",
+                    "",
+                    "",
+                    this.configManager.primaryConfig().databaseSettings().connectionPool()
+                )
+            );
+            case JSON -> this.injector.getInstance(JSONUserManager.class);
+            case JSON_SHARDED -> this.injector.getInstance(ShardedJSONUserManager.class);
+        };
+    }
+
+}
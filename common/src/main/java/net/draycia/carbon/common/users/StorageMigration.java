@@ -0,0 +1,284 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.users;
+
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.draycia.carbon.api.CarbonServer;
+import net.draycia.carbon.common.DataDirectory;
+import net.draycia.carbon.common.config.ConfigManager;
+import net.draycia.carbon.common.config.DatabaseSettings;
+import net.draycia.carbon.common.config.PrimaryConfig;
+import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.util.ConcurrentUtil;
+import net.draycia.carbon.common.util.FileUtil;
+import net.kyori.adventure.audience.Audience;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Copies all players and parties from one storage backend to another.
+ *
+ * <p>Ids are paged through in backend order, each page is read in parallel chunks and written
+ * to the target in a single batch. Progress is checkpointed after every page so an interrupted
+ * migration resumes where it stopped when started again.</p>
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class StorageMigration {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int READ_CHUNK_SIZE = 100;
+    private static final int READER_THREADS = 4;
+    private static final String STAGE_PLAYERS = "players";
+    private static final String STAGE_PARTIES = "parties";
+
+    private final Logger logger;
+    private final Path dataDirectory;
+    private final StorageBackends backends;
+    private final UserManagerInternal<CarbonPlayerCommon> activeBackend;
+    private final ConfigManager configManager;
+    private final CarbonServer server;
+    private final CarbonMessages messages;
+    private final Gson gson = new Gson();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Inject
+    private StorageMigration(
+        final Logger logger,
+        final @DataDirectory Path dataDirectory,
+        final StorageBackends backends,
+        final @Backing UserManagerInternal<CarbonPlayerCommon> activeBackend,
+        final ConfigManager configManager,
+        final CarbonServer server,
+        final CarbonMessages messages
+    ) {
+        this.logger = logger;
+        this.dataDirectory = dataDirectory;
+        this.backends = backends;
+        this.activeBackend = activeBackend;
+        this.configManager = configManager;
+        this.server = server;
+        this.messages = messages;
+    }
+
+    public void start(final Audience sender, final PrimaryConfig.StorageType from, final PrimaryConfig.StorageType to) {
+        if (from == to) {
+            this.messages.migrationSameStorage(sender);
+            return;
+        }
+        if (from == PrimaryConfig.StorageType.JSON && to == PrimaryConfig.StorageType.JSON_SHARDED) {
+            this.messages.migrationAutomatic(sender);
+            return;
+        }
+        if (!this.server.players().isEmpty()) {
+            this.messages.migrationPlayersOnline(sender);
+            return;
+        }
+        if (!this.databasesValid(sender, from, to)) {
+            return;
+        }
+        if (!this.running.compareAndSet(false, true)) {
+            this.messages.migrationAlreadyRunning(sender);
+            return;
+        }
+
+        final Thread thread = ConcurrentUtil.carbonThreadFactory(this.logger, "StorageMigration").newThread(() -> {
+            try {
+                this.migrate(sender, from, to);
+            } catch (final Exception ex) {
+                this.logger.error("Failed to migrate storage from {} to {}", from, to, ex);
+                this.messages.migrationFailed(sender);
+            } finally {
+                this.running.set(false);
+            }
+        });
+        thread.start();
+    }
+
+    private void migrate(final Audience sender, final PrimaryConfig.StorageType from, final PrimaryConfig.StorageType to) throws IOException {
+        this.messages.migrationStarted(sender, from.name(), to.name());
+        this.logger.info("Migrating storage from {} to {}...", from, to);
+        final long start = System.nanoTime();
+
+        final Path checkpointFile = this.dataDirectory.resolve("migration-" + from.name().toLowerCase() + "-" + to.name().toLowerCase() + ".json");
+        Checkpoint checkpoint = this.readCheckpoint(checkpointFile);
+        if (checkpoint.lastId() != null || checkpoint.players() > 0) {
+            this.logger.info("Resuming migration at {} after {}", checkpoint.stage(), checkpoint.lastId());
+        }
+
+        final List<CachingUserManager> created = new ArrayList<>();
+        final ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS, ConcurrentUtil.carbonThreadFactory(this.logger, "StorageMigrationReader"));
+        try {
+            final CachingUserManager source = this.backend(from, created);
+            final CachingUserManager target = this.backend(to, created);
+
+            if (checkpoint.stage().equals(STAGE_PLAYERS)) {
+                final int total = source.userCount();
+                @Nullable UUID after = checkpoint.lastIdAsUuid();
+                int done = checkpoint.players();
+                List<UUID> page;
+                while (!(page = source.userIds(after, PAGE_SIZE)).isEmpty()) {
+                    target.importSync(this.readPlayers(source, page, readers));
+                    after = page.get(page.size() - 1);
+                    done += page.size();
+                    checkpoint = new Checkpoint(STAGE_PLAYERS, after.toString(), done, 0);
+                    this.writeCheckpoint(checkpointFile, checkpoint);
+                    this.progress(sender, STAGE_PLAYERS, done, total);
+                }
+                checkpoint = new Checkpoint(STAGE_PARTIES, null, done, 0);
+                this.writeCheckpoint(checkpointFile, checkpoint);
+            }
+
+            final int totalParties = source.partyCount();
+            @Nullable UUID after = checkpoint.lastIdAsUuid();
+            int doneParties = checkpoint.parties();
+            List<UUID> page;
+            while (!(page = source.partyIds(after, PAGE_SIZE)).isEmpty()) {
+                for (final UUID id : page) {
+                    final @Nullable PartyImpl party = source.loadParty(id);
+                    if (party != null) {
+                        target.importSync(party);
+                    }
+                }
+                after = page.get(page.size() - 1);
+                doneParties += page.size();
+                checkpoint = new Checkpoint(STAGE_PARTIES, after.toString(), checkpoint.players(), doneParties);
+                this.writeCheckpoint(checkpointFile, checkpoint);
+                this.progress(sender, STAGE_PARTIES, doneParties, totalParties);
+            }
+
+            final int sourceUsers = source.userCount();
+            final int targetUsers = target.userCount();
+            final int sourceParties = source.partyCount();
+            final int targetParties = target.partyCount();
+            if (targetUsers < sourceUsers || targetParties < sourceParties) {
+                throw new IllegalStateException("Verification failed, source has " + sourceUsers + " players and " + sourceParties
+                    + " parties but target has " + targetUsers + " players and " + targetParties + " parties");
+            }
+
+            Files.deleteIfExists(checkpointFile);
+            final int seconds = (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+            this.logger.info("Migrated {} players and {} parties from {} to {} in {}s", checkpoint.players(), doneParties, from, to, seconds);
+            this.messages.migrationComplete(sender, checkpoint.players(), doneParties, seconds);
+        } finally {
+            ConcurrentUtil.shutdownExecutor(readers, TimeUnit.MILLISECONDS, 500);
+            for (final CachingUserManager backend : created) {
+                backend.shutdown();
+            }
+        }
+    }
+
+    // The active backend keeps its own connection, a detached server database needs settings of its own on a different database
+    private boolean databasesValid(final Audience sender, final PrimaryConfig.StorageType from, final PrimaryConfig.StorageType to) {
+        final @Nullable String fromUrl = this.serverDatabaseUrl(from);
+        final @Nullable String toUrl = this.serverDatabaseUrl(to);
+        if ((serverDatabase(from) && fromUrl == null) || (serverDatabase(to) && toUrl == null)) {
+            this.messages.migrationDatabaseSettingsMissing(sender);
+            return false;
+        }
+        if (fromUrl != null && fromUrl.equals(toUrl)) {
+            this.messages.migrationSameDatabase(sender);
+            return false;
+        }
+        return true;
+    }
+
+    // The configured url of a MYSQL or PSQL backend, null for other storage types or when none is set
+    private @Nullable String serverDatabaseUrl(final PrimaryConfig.StorageType type) {
+        if (!serverDatabase(type)) {
+            return null;
+        }
+        final @Nullable String url = this.databaseSettings(type).url();
+        return url == null || url.isBlank() ? null : url;
+    }
+
+    private DatabaseSettings databaseSettings(final PrimaryConfig.StorageType type) {
+        final PrimaryConfig config = this.configManager.primaryConfig();
+        return type == config.storageType() ? config.databaseSettings() : config.migrationDatabaseSettings();
+    }
+
+    private static boolean serverDatabase(final PrimaryConfig.StorageType type) {
+        return type == PrimaryConfig.StorageType.MYSQL || type == PrimaryConfig.StorageType.PSQL;
+    }
+
+    private CachingUserManager backend(final PrimaryConfig.StorageType type, final List<CachingUserManager> created) throws IOException {
+        if (type == this.configManager.primaryConfig().storageType()) {
+            return (CachingUserManager) this.activeBackend;
+        }
+        final CachingUserManager backend = this.backends.createDetached(type, this.databaseSettings(type));
+        created.add(backend);
+        return backend;
+    }
+
+    private List<CarbonPlayerCommon> readPlayers(final CachingUserManager source, final List<UUID> page, final ExecutorService readers) {
+        final List<CompletableFuture<Map<UUID, CarbonPlayerCommon>>> chunks = new ArrayList<>();
+        for (int i = 0; i < page.size(); i += READ_CHUNK_SIZE) {
+            final List<UUID> chunk = page.subList(i, Math.min(i + READ_CHUNK_SIZE, page.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> source.loadOrCreate(chunk), readers));
+        }
+
+        final List<CarbonPlayerCommon> players = new ArrayList<>(page.size());
+        for (final CompletableFuture<Map<UUID, CarbonPlayerCommon>> chunk : chunks) {
+            players.addAll(chunk.join().values());
+        }
+        return players;
+    }
+
+    private void progress(final Audience sender, final String stage, final int done, final int total) {
+        this.logger.info("Migrated {}/{} {}", done, total, stage);
+        this.messages.migrationProgress(sender, stage, done, total);
+    }
+
+    private Checkpoint readCheckpoint(final Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return new Checkpoint(STAGE_PLAYERS, null, 0, 0);
+        }
+        return this.gson.fromJson(Files.readString(file), Checkpoint.class);
+    }
+
+    private void writeCheckpoint(final Path file, final Checkpoint checkpoint) throws IOException {
+        FileUtil.writeAtomically(file, this.gson.toJson(checkpoint));
+    }
+
+    private record Checkpoint(String stage, @Nullable String lastId, int players, int parties) {
+
+        @Nullable UUID lastIdAsUuid() {
+            return this.lastId == null ? null : UUID.fromString(this.lastId);
+        }
+
+    }
+
+}
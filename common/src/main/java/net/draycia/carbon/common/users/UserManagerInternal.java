@@ -19,6 +19,8 @@
  */
 package net.draycia.carbon.common.users;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import net.draycia.carbon.api.users.CarbonPlayer;
@@ -33,6 +35,9 @@ public interface UserManagerInternal<C extends CarbonPlayer> extends UserManager
 
     void shutdown();
 
+    // Result is in iteration order of uuids; uncached users are fetched from storage in one batch
+    CompletableFuture<Map<UUID, C>> users(Collection<UUID> uuids);
+
     CompletableFuture<Void> saveIfNeeded(C player);
 
     CompletableFuture<Void> loggedOut(UUID uuid);
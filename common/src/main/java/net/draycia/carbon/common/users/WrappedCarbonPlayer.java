@@ -36,6 +36,7 @@ import net.draycia.carbon.common.config.PrimaryConfig;
 import net.draycia.carbon.common.integration.miniplaceholders.MiniPlaceholdersExpansion;
 import net.draycia.carbon.common.messages.SourcedAudience;
 import net.draycia.carbon.common.messages.TagPermissions;
+import net.draycia.carbon.common.util.Strings;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
@@ -71,6 +72,11 @@ public abstract class WrappedCarbonPlayer implements CarbonPlayer {
     }
 
     public Component parseMessageTags(final String message) {
+        if (TagPermissions.plain(message)) {
+            // No placeholders or tags to resolve, skip the permission lookups
+            return Component.text(message);
+        }
+
         final TagResolver.Builder resolver = TagResolver.builder();
 
         if (MiniPlaceholdersExpansion.miniPlaceholdersLoaded() && this.hasPermission("carbon.chatplaceholders")) {
@@ -235,7 +241,7 @@ public abstract class WrappedCarbonPlayer implements CarbonPlayer {
 
     @Override
     public ChannelMessage channelForMessage(final Component message) {
-        final String text = PlainTextComponentSerializer.plainText().serialize(message);
+        final String text = Strings.plainText(message);
         Component formattedMessage = message;
 
         ChatChannel channel = requireNonNullElse(this.selectedChannel(), this.carbonPlayerCommon.channelRegistry().defaultChannel());
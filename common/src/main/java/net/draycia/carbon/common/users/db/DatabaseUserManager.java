@@ -24,6 +24,9 @@ import com.google.inject.Injector;
 import com.google.inject.Provider;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,8 +37,8 @@ import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.CarbonServer;
 import net.draycia.carbon.api.channels.ChannelRegistry;
 import net.draycia.carbon.api.channels.ChatChannel;
-import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.config.DatabaseSettings;
+import net.draycia.carbon.common.config.PrimaryConfig;
 import net.draycia.carbon.common.messaging.MessagingManager;
 import net.draycia.carbon.common.messaging.packets.PacketFactory;
 import net.draycia.carbon.common.users.CachingUserManager;
@@ -63,8 +66,10 @@ import org.flywaydb.core.api.logging.LogCreator;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.result.RowView;
 import org.jdbi.v3.core.statement.PreparedBatch;
-import org.jdbi.v3.core.statement.Update;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.SqlStatement;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 
 @DefaultQualifier(NonNull.class)
@@ -103,88 +108,97 @@ public final class DatabaseUserManager extends CachingUserManager {
 
     @Override
     public CarbonPlayerCommon loadOrCreate(final UUID uuid) {
-        return this.jdbi.withHandle(handle -> {
-            final @Nullable CarbonPlayerCommon carbonPlayerCommon = handle.createQuery(this.locator.query("select-player"))
-                .bind("id", uuid)
-                .mapTo(CarbonPlayerCommon.class)
-                .findOne()
-                .orElse(null);
-            if (carbonPlayerCommon == null) {
-                return new CarbonPlayerCommon(null, uuid);
-            }
-
-            handle.createQuery(this.locator.query("select-ignores"))
-                .bind("id", uuid)
-                .mapTo(UUID.class)
-                .forEach(ignoredPlayer -> carbonPlayerCommon.ignoring(ignoredPlayer, true, true));
-            handle.createQuery(this.locator.query("select-leftchannels"))
-                .bind("id", uuid)
-                .mapTo(Key.class)
-                .forEach(channel -> {
-                    final @Nullable ChatChannel chatChannel = this.channelRegistry.channel(channel);
-
-                    if (chatChannel == null) {
-                        return;
-                    }
+        return Objects.requireNonNull(this.loadOrCreate(List.of(uuid)).get(uuid));
+    }
 
-                    carbonPlayerCommon.leaveChannel(chatChannel, true);
-                });
-            return carbonPlayerCommon;
-        });
+    @Override
+    protected Map<UUID, CarbonPlayerCommon> loadOrCreate(final Collection<UUID> uuids) {
+        final List<UUID> ids = List.copyOf(uuids);
+        // players, ignores and left channels come back as tagged rows of one query, so this is a single round trip
+        final Map<UUID, LoadedPlayer> rows = this.jdbi.withHandle(handle -> handle.createQuery(this.locator.query("select-players-with-relations"))
+            .bindList("ids", ids)
+            .reduceRows(new HashMap<>(), (final Map<UUID, LoadedPlayer> loaded, final RowView row) -> {
+                final LoadedPlayer entry = loaded.computeIfAbsent(row.getColumn("id", UUID.class), $ -> new LoadedPlayer());
+                switch (row.getColumn("kind", Integer.class)) {
+                    case 0 -> entry.player = row.getRow(CarbonPlayerCommon.class);
+                    case 1 -> entry.ignored.add(row.getColumn("ignoredplayer", UUID.class));
+                    case 2 -> entry.leftChannels.add(row.getColumn("channel", Key.class));
+                    default -> throw new IllegalStateException("Unknown row kind");
+                }
+                return loaded;
+            }));
+
+        final Map<UUID, CarbonPlayerCommon> players = new HashMap<>();
+        for (final UUID uuid : ids) {
+            final @Nullable LoadedPlayer loaded = rows.get(uuid);
+            final @Nullable CarbonPlayerCommon player = loaded == null ? null : loaded.player;
+            if (loaded == null || player == null) {
+                players.put(uuid, new CarbonPlayerCommon(null, uuid));
+                continue;
+            }
+            for (final UUID ignoredPlayer : loaded.ignored) {
+                player.ignoring(ignoredPlayer, true, true);
+            }
+            for (final Key channel : loaded.leftChannels) {
+                final @Nullable ChatChannel chatChannel = this.channelRegistry.channel(channel);
+                if (chatChannel != null) {
+                    player.leaveChannel(chatChannel, true);
+                }
+            }
+            players.put(uuid, player);
+        }
+        return players;
     }
 
     @Override
     public void saveSync(final CarbonPlayerCommon player) {
         this.jdbi.useTransaction(handle -> {
-            final int inserted = this.bindPlayerArguments(handle.createUpdate(this.locator.query("insert-player")), player).execute();
-            if (inserted != 1) {
-                this.bindPlayerArguments(handle.createUpdate(this.locator.query("update-player")), player).execute();
-            }
+            this.bindPlayerArguments(handle.createUpdate(this.locator.query("upsert-player")), player).execute();
 
-            handle.createUpdate(this.locator.query("clear-ignores"))
-                .bind("id", player.uuid())
-                .execute();
-            handle.createUpdate(this.locator.query("clear-leftchannels"))
-                .bind("id", player.uuid())
-                .execute();
-
-            final Set<UUID> ignored = player.ignoring();
-            if (!ignored.isEmpty()) {
-                final PreparedBatch batch = handle.prepareBatch(this.locator.query("save-ignores"));
-                for (final UUID ignoredPlayer : ignored) {
-                    batch.bind("id", player.uuid()).bind("ignoredplayer", ignoredPlayer).add();
+            // child tables are only rewritten when their contents changed since the last save
+            if (player.ignoringChanged()) {
+                handle.createUpdate(this.locator.query("clear-ignores"))
+                    .bind("id", player.uuid())
+                    .execute();
+                final Set<UUID> ignored = player.ignoring();
+                if (!ignored.isEmpty()) {
+                    final PreparedBatch batch = handle.prepareBatch(this.locator.query("save-ignores"));
+                    for (final UUID ignoredPlayer : ignored) {
+                        batch.bind("id", player.uuid()).bind("ignoredplayer", ignoredPlayer).add();
+                    }
+                    batch.execute();
                 }
-                batch.execute();
             }
 
-            final List<Key> left = player.leftChannels();
-            if (!left.isEmpty()) {
-                final PreparedBatch batch = handle.prepareBatch(this.locator.query("save-leftchannels"));
-                for (final Key leftChannel : left) {
-                    batch.bind("id", player.uuid()).bind("channel", leftChannel).add();
+            if (player.leftChannelsChanged()) {
+                handle.createUpdate(this.locator.query("clear-leftchannels"))
+                    .bind("id", player.uuid())
+                    .execute();
+                final List<Key> left = player.leftChannels();
+                if (!left.isEmpty()) {
+                    final PreparedBatch batch = handle.prepareBatch(this.locator.query("save-leftchannels"));
+                    for (final Key leftChannel : left) {
+                        batch.bind("id", player.uuid()).bind("channel", leftChannel).add();
+                    }
+                    batch.execute();
                 }
-                batch.execute();
             }
         });
     }
 
     @Override
     protected @Nullable PartyImpl loadParty(final UUID uuid) {
-        return this.jdbi.withHandle(handle -> {
-            final @Nullable PartyImpl party = this.selectParty(handle, uuid);
-            if (party == null) {
-                return null;
-            }
-
-            final List<UUID> members = handle.createQuery(this.locator.query("select-party-members"))
-                .bind("partyid", uuid)
-                .mapTo(UUID.class)
-                .list();
-
-            party.rawMembers().addAll(members);
-
-            return party;
-        });
+        return this.jdbi.withHandle(handle -> handle.createQuery(this.locator.query("select-party-with-members"))
+            .bind("partyid", uuid)
+            .reduceRows((final Map<UUID, PartyImpl> parties, final RowView row) -> {
+                final PartyImpl party = parties.computeIfAbsent(row.getColumn("partyid", UUID.class), $ -> row.getRow(PartyImpl.class));
+                final @Nullable UUID member = row.getColumn("playerid", UUID.class);
+                if (member != null) {
+                    party.rawMembers().add(member);
+                }
+            })
+            .findFirst()
+            .orElse(null));
     }
 
     private @Nullable PartyImpl selectParty(final Handle handle, final UUID uuid) {
@@ -243,13 +257,80 @@ public final class DatabaseUserManager extends CachingUserManager {
         });
     }
 
+    @Override
+    protected List<UUID> userIds(final @Nullable UUID after, final int limit) {
+        return this.ids("select-user-ids", "id", after, limit);
+    }
+
+    @Override
+    protected List<UUID> partyIds(final @Nullable UUID after, final int limit) {
+        return this.ids("select-party-ids", "partyid", after, limit);
+    }
+
+    private List<UUID> ids(final String query, final String column, final @Nullable UUID after, final int limit) {
+        return this.jdbi.withHandle(handle -> {
+            final Query select = handle.createQuery(this.locator.query(query))
+                .define("after", after == null ? "" : " WHERE " + column + " > :after")
+                .bind("limit", limit);
+            if (after != null) {
+                select.bind("after", after);
+            }
+            return select.mapTo(UUID.class).list();
+        });
+    }
+
+    @Override
+    protected int userCount() {
+        return this.jdbi.withHandle(handle -> handle.createQuery(this.locator.query("count-users")).mapTo(Integer.class).one());
+    }
+
+    @Override
+    protected int partyCount() {
+        return this.jdbi.withHandle(handle -> handle.createQuery(this.locator.query("count-parties")).mapTo(Integer.class).one());
+    }
+
+    @Override
+    protected void importSync(final List<CarbonPlayerCommon> players) {
+        if (players.isEmpty()) {
+            return;
+        }
+        // one transaction and one JDBC batch per statement for the whole chunk
+        this.jdbi.useTransaction(handle -> {
+            final PreparedBatch upsert = handle.prepareBatch(this.locator.query("upsert-player"));
+            final PreparedBatch clearIgnores = handle.prepareBatch(this.locator.query("clear-ignores"));
+            final PreparedBatch clearLeftChannels = handle.prepareBatch(this.locator.query("clear-leftchannels"));
+            final PreparedBatch ignores = handle.prepareBatch(this.locator.query("save-ignores"));
+            final PreparedBatch leftChannels = handle.prepareBatch(this.locator.query("save-leftchannels"));
+            for (final CarbonPlayerCommon player : players) {
+                this.bindPlayerArguments(upsert, player).add();
+                clearIgnores.bind("id", player.uuid()).add();
+                clearLeftChannels.bind("id", player.uuid()).add();
+                for (final UUID ignoredPlayer : player.ignoring()) {
+                    ignores.bind("id", player.uuid()).bind("ignoredplayer", ignoredPlayer).add();
+                }
+                for (final Key leftChannel : player.leftChannels()) {
+                    leftChannels.bind("id", player.uuid()).bind("channel", leftChannel).add();
+                }
+            }
+            upsert.execute();
+            clearIgnores.execute();
+            clearLeftChannels.execute();
+            if (ignores.size() > 0) {
+                ignores.execute();
+            }
+            if (leftChannels.size() > 0) {
+                leftChannels.execute();
+            }
+        });
+    }
+
     @Override
     public void shutdown() {
         super.shutdown();
         this.dataSource.close();
     }
 
-    private Update bindPlayerArguments(final Update update, final CarbonPlayerCommon player) {
+    private <S extends SqlStatement<S>> S bindPlayerArguments(final S update, final CarbonPlayerCommon player) {
         final @Nullable Component nickname = player.nicknameRaw();
         @Nullable String nicknameJson = GsonComponentSerializer.gson().serializeOrNull(nickname);
         if (nicknameJson != null && nicknameJson.toCharArray().length > 8192) {
@@ -271,7 +352,6 @@ public final class DatabaseUserManager extends CachingUserManager {
     public static final class Factory {
 
         private final ChannelRegistry channelRegistry;
-        private final ConfigManager configManager;
         private final Logger logger;
         private final ProfileResolver profileResolver;
         private final Injector injector;
@@ -282,7 +362,6 @@ public final class DatabaseUserManager extends CachingUserManager {
         @Inject
         private Factory(
             final ChannelRegistry channelRegistry,
-            final ConfigManager configManager,
             final Logger logger,
             final ProfileResolver profileResolver,
             final Injector injector,
@@ -291,7 +370,6 @@ public final class DatabaseUserManager extends CachingUserManager {
             final CarbonServer server
         ) {
             this.channelRegistry = channelRegistry;
-            this.configManager = configManager;
             this.logger = logger;
             this.profileResolver = profileResolver;
             this.injector = injector;
@@ -300,11 +378,12 @@ public final class DatabaseUserManager extends CachingUserManager {
             this.server = server;
         }
 
-        public DatabaseUserManager create(final String migrationsLocation, final Consumer<Jdbi> configureJdbi) {
-            return this.create(migrationsLocation, configureJdbi, this.configManager.primaryConfig().databaseSettings());
-        }
-
-        public DatabaseUserManager create(final String migrationsLocation, final Consumer<Jdbi> configureJdbi, final DatabaseSettings databaseSettings) {
+        public DatabaseUserManager create(
+            final PrimaryConfig.StorageType storageType,
+            final String migrationsLocation,
+            final Consumer<Jdbi> configureJdbi,
+            final DatabaseSettings databaseSettings
+        ) {
             SQLDrivers.loadFrom(this.getClass().getClassLoader());
 
             final HikariConfig hikariConfig = new HikariConfig();
@@ -314,7 +393,7 @@ public final class DatabaseUserManager extends CachingUserManager {
             hikariConfig.setPoolName("CarbonChat-HikariPool");
             hikariConfig.setThreadFactory(ConcurrentUtil.carbonThreadFactory(this.logger, "HikariPool"));
 
-            final DatabaseSettings.ConnectionPool cfg = Objects.requireNonNull(this.configManager.primaryConfig().databaseSettings().connectionPool());
+            final DatabaseSettings.ConnectionPool cfg = Objects.requireNonNull(databaseSettings.connectionPool());
             hikariConfig.setMaximumPoolSize(cfg.maximumPoolSize);
             hikariConfig.setMinimumIdle(cfg.minimumIdle);
             hikariConfig.setMaxLifetime(cfg.maximumLifetime);
@@ -352,7 +431,7 @@ public final class DatabaseUserManager extends CachingUserManager {
             return new DatabaseUserManager(
                 jdbi,
                 dataSource,
-                new QueriesLocator(this.configManager.primaryConfig().storageType()),
+                new QueriesLocator(storageType),
                 this.logger,
                 this.profileResolver,
                 this.injector,
@@ -365,6 +444,14 @@ public final class DatabaseUserManager extends CachingUserManager {
 
     }
 
+    private static final class LoadedPlayer {
+
+        private @Nullable CarbonPlayerCommon player;
+        private final List<UUID> ignored = new ArrayList<>();
+        private final List<Key> leftChannels = new ArrayList<>();
+
+    }
+
     private record CarbonLogCreator(Logger logger) implements LogCreator {
 
         @Override
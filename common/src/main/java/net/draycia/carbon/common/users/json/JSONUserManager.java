@@ -26,10 +26,17 @@ import com.google.inject.Injector;
 import com.google.inject.Provider;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import net.draycia.carbon.api.CarbonServer;
 import net.draycia.carbon.api.channels.ChannelRegistry;
 import net.draycia.carbon.api.channels.ChatChannel;
@@ -59,6 +66,8 @@ public class JSONUserManager extends CachingUserManager {
     private final Path userDirectory;
     private final Path partyDirectory;
     private final ChannelRegistry channelRegistry;
+    private final AtomicReference<@Nullable IdSnapshot> userIds = new AtomicReference<>();
+    private final AtomicReference<@Nullable IdSnapshot> partyIds = new AtomicReference<>();
 
     @Inject
     public JSONUserManager(
@@ -88,13 +97,20 @@ public class JSONUserManager extends CachingUserManager {
         Files.createDirectories(this.userDirectory);
         Files.createDirectories(this.partyDirectory);
 
-        this.serializer = GsonComponentSerializer.gson().populator()
+        this.serializer = gsonBuilder(channelSerializer, uuidSerializer)
+            .setPrettyPrinting()
+            .create();
+    }
+
+    static GsonBuilder gsonBuilder(
+        final ChatChannelSerializerGson channelSerializer,
+        final UUIDSerializerGson uuidSerializer
+    ) {
+        return GsonComponentSerializer.gson().populator()
             .apply(new GsonBuilder())
             .registerTypeAdapter(ChatChannel.class, channelSerializer)
             .registerTypeAdapter(UUID.class, uuidSerializer)
-            .registerTypeAdapter(PersistentUserProperty.class, new PersistentUserProperty.Serializer())
-            .setPrettyPrinting()
-            .create();
+            .registerTypeAdapter(PersistentUserProperty.class, new PersistentUserProperty.Serializer());
     }
 
     @Override
@@ -136,19 +152,42 @@ public class JSONUserManager extends CachingUserManager {
 
     @Override
     public void saveSync(final CarbonPlayerCommon player) {
-        final Path userFile = this.userFile(player.uuid());
-
         try {
-            final String json = this.serializer.toJson(player);
+            FileUtil.writeAtomically(this.userFile(player.uuid()), this.toJson(player));
+        } catch (final IOException exception) {
+            throw new RuntimeException("Exception while saving data for player [%s]".formatted(player.username()), exception);
+        }
+    }
 
-            if (json == null || json.isBlank()) {
-                throw new IllegalStateException("No data to save - toJson returned null or blank.");
+    @Override
+    protected Map<UUID, Throwable> saveSync(final List<CarbonPlayerCommon> players) {
+        final Map<UUID, Throwable> failures = new HashMap<>();
+        final Map<Path, String> files = new LinkedHashMap<>();
+        for (final CarbonPlayerCommon player : players) {
+            try {
+                files.put(this.userFile(player.uuid()), this.toJson(player));
+            } catch (final RuntimeException exception) {
+                failures.put(player.uuid(), exception);
             }
+        }
 
-            Files.writeString(FileUtil.mkParentDirs(userFile), json);
+        try {
+            FileUtil.writeAtomically(files);
         } catch (final IOException exception) {
-            throw new RuntimeException("Exception while saving data for player [%s]".formatted(player.username()), exception);
+            for (final CarbonPlayerCommon player : players) {
+                failures.putIfAbsent(player.uuid(), new RuntimeException("Exception while saving data for player [%s]".formatted(player.uuid()), exception));
+            }
+        }
+        return failures;
+    }
+
+    private String toJson(final Object value) {
+        final @Nullable String json = this.serializer.toJson(value);
+
+        if (json == null || json.isBlank()) {
+            throw new IllegalStateException("No data to save - toJson returned null or blank.");
         }
+        return json;
     }
 
     @Override
@@ -177,16 +216,8 @@ public class JSONUserManager extends CachingUserManager {
 
     @Override
     protected void saveSync(final PartyImpl party, final Map<UUID, PartyImpl.ChangeType> changes) {
-        final Path partyFile = this.partyFile(party.id());
-
         try {
-            final String json = this.serializer.toJson(party);
-
-            if (json == null || json.isBlank()) {
-                throw new IllegalStateException("No data to save - toJson returned null or blank.");
-            }
-
-            Files.writeString(FileUtil.mkParentDirs(partyFile), json);
+            FileUtil.writeAtomically(this.partyFile(party.id()), this.toJson(party));
         } catch (final IOException exception) {
             throw new RuntimeException("Exception while saving data for party " + party, exception);
         }
@@ -201,4 +232,124 @@ public class JSONUserManager extends CachingUserManager {
         }
     }
 
+    @Override
+    protected List<UUID> userIds(final @Nullable UUID after, final int limit) {
+        return idsAfter(this.userIds, this.userDirectory, after, limit);
+    }
+
+    @Override
+    protected List<UUID> partyIds(final @Nullable UUID after, final int limit) {
+        return idsAfter(this.partyIds, this.partyDirectory, after, limit);
+    }
+
+    @Override
+    protected int userCount() {
+        return countFiles(this.userDirectory);
+    }
+
+    @Override
+    protected int partyCount() {
+        return countFiles(this.partyDirectory);
+    }
+
+    private static int countFiles(final Path directory) {
+        int count = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (final Path ignored : stream) {
+                count++;
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to list " + directory, ex);
+        }
+        return count;
+    }
+
+    private static List<UUID> idsAfter(
+        final AtomicReference<@Nullable IdSnapshot> snapshotRef,
+        final Path directory,
+        final @Nullable UUID after,
+        final int limit
+    ) {
+        @Nullable IdSnapshot snapshot = snapshotRef.get();
+        if (snapshot == null || after == null) {
+            // A pass starts over from the first id, or resumes from a checkpoint after a restart
+            snapshot = IdSnapshot.list(directory);
+            snapshotRef.set(snapshot);
+        }
+        final List<UUID> page = snapshot.page(after, limit);
+        if (page.size() < limit) {
+            // Reached the end, don't hold on to the ids
+            snapshotRef.compareAndSet(snapshot, null);
+        }
+        return page;
+    }
+
+    /**
+     * The ids in a directory, listed and sorted once so paging through them doesn't rescan the directory per page.
+     */
+    private static final class IdSnapshot {
+
+        // Most and least significant bits of each id, interleaved and in UUID order
+        private final long[] bits;
+
+        private IdSnapshot(final long[] bits) {
+            this.bits = bits;
+        }
+
+        static IdSnapshot list(final Path directory) {
+            final List<UUID> ids = new ArrayList<>();
+            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+                for (final Path file : stream) {
+                    final String name = file.getFileName().toString();
+                    try {
+                        ids.add(UUID.fromString(name.substring(0, name.length() - ".json".length())));
+                    } catch (final IllegalArgumentException ignored) {
+                        // Not named after an id, skip it
+                    }
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Failed to list " + directory, ex);
+            }
+            ids.sort(null);
+
+            final long[] bits = new long[ids.size() * 2];
+            for (int i = 0; i < ids.size(); i++) {
+                bits[i * 2] = ids.get(i).getMostSignificantBits();
+                bits[i * 2 + 1] = ids.get(i).getLeastSignificantBits();
+            }
+            return new IdSnapshot(bits);
+        }
+
+        List<UUID> page(final @Nullable UUID after, final int limit) {
+            final int size = this.bits.length / 2;
+            final int from = after == null ? 0 : this.indexAfter(after);
+            final int to = Math.min(size, from + limit);
+            final List<UUID> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(new UUID(this.bits[i * 2], this.bits[i * 2 + 1]));
+            }
+            return page;
+        }
+
+        // Index of the first id greater than the given one, matching UUID#compareTo
+        private int indexAfter(final UUID id) {
+            int low = 0;
+            int high = this.bits.length / 2;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                int cmp = Long.compare(this.bits[mid * 2], id.getMostSignificantBits());
+                if (cmp == 0) {
+                    cmp = Long.compare(this.bits[mid * 2 + 1], id.getLeastSignificantBits());
+                }
+                if (cmp <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+    }
+
 }
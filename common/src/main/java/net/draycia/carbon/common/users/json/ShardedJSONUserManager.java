@@ -0,0 +1,280 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.users.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.api.CarbonServer;
+import net.draycia.carbon.api.channels.ChannelRegistry;
+import net.draycia.carbon.common.DataDirectory;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.messaging.MessagingManager;
+import net.draycia.carbon.common.messaging.packets.PacketFactory;
+import net.draycia.carbon.common.serialisation.gson.ChatChannelSerializerGson;
+import net.draycia.carbon.common.serialisation.gson.UUIDSerializerGson;
+import net.draycia.carbon.common.users.CachingUserManager;
+import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.PartyImpl;
+import net.draycia.carbon.common.users.ProfileResolver;
+import net.draycia.carbon.common.util.ConcurrentUtil;
+import net.draycia.carbon.common.util.FileUtil;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * File based storage keeping players and parties in compact, hash-sharded JSON files
+ * (see {@link ShardedJsonStore}) instead of one pretty-printed file per entry.
+ *
+ * <p>Saves write the shards they touched before completing, dirty shards left over from failed writes
+ * are retried every few seconds and on shutdown. Data from the
+ * {@link JSONUserManager} layout ({@code users/} and {@code party/}) is migrated on first start
+ * through {@link #migrateLegacy()}.</p>
+ */
+@DefaultQualifier(NonNull.class)
+public final class ShardedJSONUserManager extends CachingUserManager {
+
+    private static final long FLUSH_INTERVAL_SECONDS = 5;
+
+    private final Gson serializer;
+    private final ShardedJsonStore users;
+    private final ShardedJsonStore parties;
+    private final ChannelRegistry channelRegistry;
+    private final ScheduledExecutorService flushExecutor;
+    private final Path dataDirectory;
+
+    @Inject
+    public ShardedJSONUserManager(
+        final @DataDirectory Path dataDirectory,
+        final Logger logger,
+        final ProfileResolver profileResolver,
+        final Injector injector,
+        final ChatChannelSerializerGson channelSerializer,
+        final UUIDSerializerGson uuidSerializer,
+        final Provider<MessagingManager> messagingManager,
+        final PacketFactory packetFactory,
+        final CarbonChannelRegistry channelRegistry,
+        final CarbonServer server
+    ) throws IOException {
+        super(
+            logger,
+            profileResolver,
+            injector,
+            messagingManager,
+            packetFactory,
+            server
+        );
+        this.channelRegistry = channelRegistry;
+        this.serializer = JSONUserManager.gsonBuilder(channelSerializer, uuidSerializer).create();
+        this.users = new ShardedJsonStore(dataDirectory.resolve("storage/users"));
+        this.parties = new ShardedJsonStore(dataDirectory.resolve("storage/parties"));
+        this.dataDirectory = dataDirectory;
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(
+            ConcurrentUtil.carbonThreadFactory(logger, "ShardedJSONFlush"));
+        this.flushExecutor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    protected CarbonPlayerCommon loadOrCreate(final UUID uuid) {
+        final @Nullable JsonElement json = this.users.get(uuid);
+        if (json == null) {
+            return new CarbonPlayerCommon(null, uuid);
+        }
+
+        final @Nullable CarbonPlayerCommon player = this.serializer.fromJson(json, CarbonPlayerCommon.class);
+        if (player == null) {
+            throw new IllegalStateException("Stored player data for " + uuid + " was empty.");
+        }
+        player.leftChannels().forEach(channel -> {
+            if (this.channelRegistry.channel(channel) == null) {
+                player.joinChannel(channel, true);
+            }
+        });
+        return player;
+    }
+
+    @Override
+    protected void saveSync(final CarbonPlayerCommon player) {
+        this.users.put(player.uuid(), this.serializer.toJsonTree(player));
+        persist(this.users);
+    }
+
+    @Override
+    protected Map<UUID, Throwable> saveSync(final List<CarbonPlayerCommon> players) {
+        final Map<UUID, Throwable> failures = new HashMap<>();
+        for (final CarbonPlayerCommon player : players) {
+            try {
+                this.users.put(player.uuid(), this.serializer.toJsonTree(player));
+            } catch (final RuntimeException ex) {
+                failures.put(player.uuid(), ex);
+            }
+        }
+        // Saves are acknowledged to other servers once this returns, so they have to be on disk by then
+        try {
+            this.users.flush();
+        } catch (final IOException ex) {
+            for (final CarbonPlayerCommon player : players) {
+                failures.putIfAbsent(player.uuid(), ex);
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    protected void importSync(final List<CarbonPlayerCommon> players) {
+        for (final CarbonPlayerCommon player : players) {
+            this.users.put(player.uuid(), this.serializer.toJsonTree(player));
+        }
+        persist(this.users);
+    }
+
+    @Override
+    protected @Nullable PartyImpl loadParty(final UUID uuid) {
+        final @Nullable JsonElement json = this.parties.get(uuid);
+        if (json == null) {
+            return null;
+        }
+        return this.serializer.<@Nullable PartyImpl>fromJson(json, PartyImpl.class);
+    }
+
+    @Override
+    protected void saveSync(final PartyImpl party, final Map<UUID, PartyImpl.ChangeType> changes) {
+        this.parties.put(party.id(), this.serializer.toJsonTree(party));
+        persist(this.parties);
+    }
+
+    @Override
+    protected void disbandSync(final UUID id) {
+        this.parties.remove(id);
+        persist(this.parties);
+    }
+
+    @Override
+    protected List<UUID> userIds(final @Nullable UUID after, final int limit) {
+        return this.users.ids(after, limit);
+    }
+
+    @Override
+    protected List<UUID> partyIds(final @Nullable UUID after, final int limit) {
+        return this.parties.ids(after, limit);
+    }
+
+    @Override
+    protected int userCount() {
+        return this.users.size();
+    }
+
+    @Override
+    protected int partyCount() {
+        return this.parties.size();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        ConcurrentUtil.shutdownExecutor(this.flushExecutor, TimeUnit.MILLISECONDS, 500);
+        this.flush();
+    }
+
+    private static void persist(final ShardedJsonStore store) {
+        try {
+            store.flush();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to write " + store.directory(), ex);
+        }
+    }
+
+    private void flush() {
+        try {
+            this.users.flush();
+            this.parties.flush();
+        } catch (final IOException ex) {
+            this.logger.warn("Failed to write player storage, will retry on next flush", ex);
+        }
+    }
+
+    /**
+     * Imports data left in the {@link JSONUserManager} layout.
+     *
+     * <p>Only to be called for the active backend, the legacy directories may be in use by
+     * another backend otherwise.</p>
+     *
+     * @throws IOException if reading or moving the legacy files fails
+     */
+    public void migrateLegacy() throws IOException {
+        this.migrateLegacy(this.dataDirectory.resolve("users"), this.users);
+        this.migrateLegacy(this.dataDirectory.resolve("party"), this.parties);
+    }
+
+    private void migrateLegacy(final Path legacyDirectory, final ShardedJsonStore store) throws IOException {
+        final List<Path> files = FileUtil.listDirectoryEntries(legacyDirectory, "*.json");
+        if (files.isEmpty()) {
+            return;
+        }
+
+        this.logger.info("Migrating {} entries from {} to {}...", files.size(), legacyDirectory, store.directory());
+        final List<Path> migrated = new ArrayList<>(files.size());
+        for (final Path file : files) {
+            final String name = file.getFileName().toString();
+            final UUID id;
+            try {
+                id = UUID.fromString(name.substring(0, name.length() - ".json".length()));
+            } catch (final IllegalArgumentException ex) {
+                this.logger.warn("Skipping {}, file name is not a UUID", file);
+                continue;
+            }
+            try (final Reader reader = Files.newBufferedReader(file)) {
+                store.put(id, JsonParser.parseReader(reader));
+                migrated.add(file);
+            } catch (final RuntimeException ex) {
+                this.logger.warn("Skipping unreadable file {}", file, ex);
+            }
+        }
+        store.flush();
+
+        // Only move the imported files, the directory is shared with other backends (e.g. the H2 database)
+        final Path backup = Files.createDirectories(legacyDirectory.resolveSibling(legacyDirectory.getFileName() + "-migrated"));
+        for (final Path file : migrated) {
+            Files.move(file, backup.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.logger.info("Migrated {} entries, the old files were moved to {}", migrated.size(), backup);
+    }
+
+}
@@ -0,0 +1,311 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.users.json;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.draycia.carbon.common.util.FileUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Stores JSON documents keyed by {@link UUID} in a fixed number of compact, hash-sharded files.
+ *
+ * <p>Writes only update the in-memory shard and mark it dirty; {@link #flush()} writes every dirty
+ * shard in one batch of atomic write-renames. Clean shards that haven't been touched for a while are
+ * dropped from memory on flush.</p>
+ *
+ * <p>The ids of each shard are indexed in memory the first time they are counted or paged through,
+ * so that doesn't need to keep every shard loaded.</p>
+ */
+@DefaultQualifier(NonNull.class)
+public final class ShardedJsonStore {
+
+    private static final int SHARD_COUNT = 4096;
+    private static final long IDLE_UNLOAD_MILLIS = 60_000;
+
+    private final Path directory;
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+    private final Object flushLock = new Object();
+    private boolean indexed;
+
+    public ShardedJsonStore(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            this.shards[i] = new Shard(directory.resolve("%03x.json".formatted(i)));
+        }
+    }
+
+    public Path directory() {
+        return this.directory;
+    }
+
+    public synchronized @Nullable JsonElement get(final UUID id) {
+        return this.shard(id).entries().get(id.toString());
+    }
+
+    public synchronized void put(final UUID id, final JsonElement value) {
+        final Shard shard = this.shard(id);
+        if (shard.entries().put(id.toString(), value) == null && this.indexed) {
+            shard.addId(id);
+        }
+        shard.dirty = true;
+    }
+
+    public synchronized void remove(final UUID id) {
+        final Shard shard = this.shard(id);
+        if (shard.entries().remove(id.toString()) != null) {
+            if (this.indexed) {
+                shard.removeId(id);
+            }
+            shard.dirty = true;
+        }
+    }
+
+    /**
+     * Pages through stored ids, ordered by shard and then by id.
+     *
+     * @param after last id of the previous page, or {@code null} for the first page
+     * @param limit maximum number of ids to return
+     * @return ids following {@code after}
+     */
+    public synchronized List<UUID> ids(final @Nullable UUID after, final int limit) {
+        this.index();
+        final List<UUID> ids = new ArrayList<>();
+        final int firstShard = after == null ? 0 : shardIndex(after);
+        for (int i = firstShard; i < SHARD_COUNT && ids.size() < limit; i++) {
+            final Shard shard = this.shards[i];
+            int position = 0;
+            if (i == firstShard && after != null) {
+                position = shard.indexOf(after);
+                position = position >= 0 ? position + 1 : -position - 1;
+            }
+            for (; position < shard.idCount && ids.size() < limit; position++) {
+                ids.add(shard.idAt(position));
+            }
+        }
+        return ids;
+    }
+
+    public synchronized int size() {
+        this.index();
+        int size = 0;
+        for (final Shard shard : this.shards) {
+            size += shard.idCount;
+        }
+        return size;
+    }
+
+    // Reads the ids of every shard once, afterwards put and remove keep the index up to date
+    private void index() {
+        if (this.indexed) {
+            return;
+        }
+        for (final Shard shard : this.shards) {
+            final Map<String, JsonElement> entries = shard.entries != null ? shard.entries : shard.read();
+            final UUID[] ids = entries.keySet().stream().map(UUID::fromString).sorted().toArray(UUID[]::new);
+            shard.ids = new long[Math.max(ids.length, 4) * 2];
+            for (int i = 0; i < ids.length; i++) {
+                shard.ids[i * 2] = ids[i].getMostSignificantBits();
+                shard.ids[i * 2 + 1] = ids[i].getLeastSignificantBits();
+            }
+            shard.idCount = ids.length;
+        }
+        this.indexed = true;
+    }
+
+    /**
+     * Writes all dirty shards to disk.
+     *
+     * @throws IOException when any shard failed to write, the failed shards stay dirty
+     */
+    public void flush() throws IOException {
+        synchronized (this.flushLock) {
+            final List<Shard> toWrite = new ArrayList<>();
+            final List<String> contents = new ArrayList<>();
+            synchronized (this) {
+                final long now = System.currentTimeMillis();
+                for (final Shard shard : this.shards) {
+                    if (shard.dirty) {
+                        final JsonObject object = new JsonObject();
+                        shard.entries().forEach(object::add);
+                        toWrite.add(shard);
+                        contents.add(object.toString());
+                        shard.dirty = false;
+                    } else if (shard.entries != null && now - shard.lastAccess > IDLE_UNLOAD_MILLIS) {
+                        shard.entries = null;
+                    }
+                }
+            }
+
+            final Map<Path, String> writes = new LinkedHashMap<>();
+            final List<Shard> written = new ArrayList<>();
+            @Nullable IOException failure = null;
+            for (int i = 0; i < toWrite.size(); i++) {
+                final Shard shard = toWrite.get(i);
+                if (!contents.get(i).equals("{}")) {
+                    writes.put(shard.file, contents.get(i));
+                    written.add(shard);
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(shard.file);
+                } catch (final IOException ex) {
+                    failure = this.failed(List.of(shard), failure, ex);
+                }
+            }
+            try {
+                FileUtil.writeAtomically(writes);
+            } catch (final IOException ex) {
+                failure = this.failed(written, failure, ex);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // Marks shards dirty again so the next flush retries them
+    private IOException failed(final List<Shard> shards, final @Nullable IOException failure, final IOException ex) {
+        synchronized (this) {
+            for (final Shard shard : shards) {
+                shard.dirty = true;
+            }
+        }
+        if (failure == null) {
+            return ex;
+        }
+        failure.addSuppressed(ex);
+        return failure;
+    }
+
+    private Shard shard(final UUID id) {
+        final Shard shard = this.shards[shardIndex(id)];
+        shard.lastAccess = System.currentTimeMillis();
+        return shard;
+    }
+
+    private static int shardIndex(final UUID id) {
+        return Math.floorMod(id.hashCode(), SHARD_COUNT);
+    }
+
+    private static final class Shard {
+
+        private final Path file;
+        private @Nullable Map<String, JsonElement> entries;
+        private boolean dirty;
+        private long lastAccess;
+        // Most and least significant bits of the indexed ids, interleaved and in UUID order
+        private long[] ids = new long[0];
+        private int idCount;
+
+        private Shard(final Path file) {
+            this.file = file;
+        }
+
+        private Map<String, JsonElement> entries() {
+            @Nullable Map<String, JsonElement> entries = this.entries;
+            if (entries == null) {
+                entries = this.read();
+                this.entries = entries;
+            }
+            return entries;
+        }
+
+        private UUID idAt(final int index) {
+            return new UUID(this.ids[index * 2], this.ids[index * 2 + 1]);
+        }
+
+        // Binary search matching UUID#compareTo, returns -(insertion point) - 1 when absent
+        private int indexOf(final UUID id) {
+            int low = 0;
+            int high = this.idCount - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                int cmp = Long.compare(this.ids[mid * 2], id.getMostSignificantBits());
+                if (cmp == 0) {
+                    cmp = Long.compare(this.ids[mid * 2 + 1], id.getLeastSignificantBits());
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+
+        private void addId(final UUID id) {
+            int index = this.indexOf(id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (this.idCount * 2 == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, Math.max(8, this.ids.length * 2));
+            }
+            System.arraycopy(this.ids, index * 2, this.ids, index * 2 + 2, (this.idCount - index) * 2);
+            this.ids[index * 2] = id.getMostSignificantBits();
+            this.ids[index * 2 + 1] = id.getLeastSignificantBits();
+            this.idCount++;
+        }
+
+        private void removeId(final UUID id) {
+            final int index = this.indexOf(id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(this.ids, index * 2 + 2, this.ids, index * 2, (this.idCount - index - 1) * 2);
+            this.idCount--;
+        }
+
+        private Map<String, JsonElement> read() {
+            final Map<String, JsonElement> map = new HashMap<>();
+            if (!Files.exists(this.file)) {
+                return map;
+            }
+            try (final Reader reader = Files.newBufferedReader(this.file)) {
+                for (final Map.Entry<String, JsonElement> entry : JsonParser.parseReader(reader).getAsJsonObject().entrySet()) {
+                    map.put(entry.getKey(), entry.getValue());
+                }
+            } catch (final IOException ex) {
+                throw new RuntimeException("Failed to read storage shard " + this.file, ex);
+            }
+            return map;
+        }
+
+    }
+
+}
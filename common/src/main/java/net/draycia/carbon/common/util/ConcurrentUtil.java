@@ -21,6 +21,7 @@ package net.draycia.carbon.common.util;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -55,6 +56,10 @@ public final class ConcurrentUtil {
             .build();
     }
 
+    public static ExecutorService createChatPipelinePool(final Logger logger) {
+        return Executors.newFixedThreadPool(2, carbonThreadFactory(logger, "Chat Pipeline"));
+    }
+
     public static ScheduledExecutorService createPeriodicTasksPool(final Logger logger) {
         return new ExceptionLoggingScheduledThreadPoolExecutor(
             1,
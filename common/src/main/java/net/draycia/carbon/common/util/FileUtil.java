@@ -22,12 +22,21 @@ package net.draycia.carbon.common.util;
 import com.google.common.hash.Hashing;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public final class FileUtil {
 
@@ -116,4 +125,93 @@ public final class FileUtil {
         return path;
     }
 
+    /**
+     * Crash-safely replaces the contents of {@code file}.
+     *
+     * <p>The content is written to a temporary file next to {@code file}, flushed to disk and then
+     * moved over {@code file}, so readers (and the next startup after a crash) never observe a
+     * partially written file.</p>
+     *
+     * @param file    target file
+     * @param content content to write
+     * @throws IOException on I/O error
+     */
+    public static void writeAtomically(final Path file, final String content) throws IOException {
+        writeAtomically(Map.of(file, content));
+    }
+
+    /**
+     * Crash-safely replaces the contents of several files, see {@link #writeAtomically(Path, String)}.
+     *
+     * <p>Every file is synced on its own before any of them is moved into place, and each directory is synced
+     * once at the end. On failure the temporary files are removed again.</p>
+     *
+     * @param files target files and their contents
+     * @throws IOException on I/O error, files that were not moved into place keep their old contents
+     */
+    public static void writeAtomically(final Map<Path, String> files) throws IOException {
+        final List<Path> targets = new ArrayList<>(files.size());
+        final List<Path> temps = new ArrayList<>(files.size());
+        int moved = 0;
+        try {
+            final List<FileChannel> channels = new ArrayList<>(files.size());
+            try {
+                for (final Map.Entry<Path, String> entry : files.entrySet()) {
+                    final Path target = mkParentDirs(entry.getKey()).toAbsolutePath();
+                    // unique per write, so concurrent writers of the same file don't truncate each other's temp file
+                    final Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+                    targets.add(target);
+                    temps.add(temp);
+                    final FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                    channels.add(channel);
+                    final ByteBuffer buffer = ByteBuffer.wrap(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                for (final FileChannel channel : channels) {
+                    channel.force(true);
+                }
+            } finally {
+                for (final FileChannel channel : channels) {
+                    channel.close();
+                }
+            }
+
+            final Set<Path> directories = new LinkedHashSet<>();
+            for (; moved < targets.size(); moved++) {
+                final Path target = targets.get(moved);
+                try {
+                    Files.move(temps.get(moved), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (final AtomicMoveNotSupportedException ex) {
+                    Files.move(temps.get(moved), target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                final Path parent = target.getParent();
+                if (parent != null) {
+                    directories.add(parent);
+                }
+            }
+            for (final Path directory : directories) {
+                syncDirectory(directory);
+            }
+        } catch (final IOException | RuntimeException ex) {
+            for (int i = moved; i < temps.size(); i++) {
+                try {
+                    Files.deleteIfExists(temps.get(i));
+                } catch (final IOException suppressed) {
+                    ex.addSuppressed(suppressed);
+                }
+            }
+            throw ex;
+        }
+    }
+
+    // persists the renames; not every platform supports opening directories, so this is best effort
+    private static void syncDirectory(final Path directory) {
+        try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException ignored) {
+        }
+    }
+
 }
@@ -25,6 +25,8 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -59,33 +61,68 @@ public interface Pagination<T> {
             return Collections.singletonList(this.pageOutOfRange(page, pages).asComponent());
         }
 
-        final List<Component> renderedContent = new ArrayList<>();
-
-        final Component header = this.header(page, pages).asComponent();
-        if (header != empty()) {
-            renderedContent.add(header);
-        }
-
         final int start = itemsPerPage * (page - 1);
-        final int maxIndex = start + itemsPerPage;
-
+        final List<T> items;
         if (content instanceof RandomAccess && content instanceof final List<T> contentList) {
-            for (int i = start; i < maxIndex; i++) {
-                if (i > content.size() - 1) {
-                    break;
-                }
-                renderedContent.add(this.item(contentList.get(i), i == maxIndex - 1).asComponent());
-            }
+            items = contentList.subList(start, Math.min(start + itemsPerPage, contentList.size()));
         } else {
+            items = new ArrayList<>(itemsPerPage);
             final Iterator<T> iterator = content.iterator();
             for (int i = 0; i < start && iterator.hasNext(); i++) {
                 iterator.next();
             }
-            for (int i = start; i < maxIndex && iterator.hasNext(); ++i) {
-                renderedContent.add(this.item(iterator.next(), i == maxIndex - 1).asComponent());
+            for (int i = 0; i < itemsPerPage && iterator.hasNext(); i++) {
+                items.add(iterator.next());
             }
         }
 
+        return this.renderPage(items, page, pages, itemsPerPage);
+    }
+
+    /**
+     * Renders a page of keys which are only resolved to items once the page is known,
+     * so that resolving (i.e. loading users) only happens for the entries actually shown.
+     *
+     * @param content      keys to paginate
+     * @param page         page number
+     * @param itemsPerPage items per page
+     * @param pageResolver resolves the keys on the requested page to items, in order
+     * @param <K>          key type
+     * @return future completing with the rendered page
+     */
+    default <K> CompletableFuture<List<Component>> render(
+        final List<K> content,
+        final int page,
+        final int itemsPerPage,
+        final Function<List<K>, CompletableFuture<List<T>>> pageResolver
+    ) {
+        if (content.isEmpty()) {
+            throw new IllegalArgumentException("Cannot paginate an empty collection.");
+        }
+
+        final int pages = (int) Math.ceil(content.size() / (itemsPerPage * 1.00));
+        if (page < 1 || page > pages) {
+            return CompletableFuture.completedFuture(Collections.singletonList(this.pageOutOfRange(page, pages).asComponent()));
+        }
+
+        final int start = itemsPerPage * (page - 1);
+        final List<K> keys = content.subList(start, Math.min(start + itemsPerPage, content.size()));
+
+        return pageResolver.apply(List.copyOf(keys)).thenApply(items -> this.renderPage(items, page, pages, itemsPerPage));
+    }
+
+    private List<Component> renderPage(final List<T> items, final int page, final int pages, final int itemsPerPage) {
+        final List<Component> renderedContent = new ArrayList<>();
+
+        final Component header = this.header(page, pages).asComponent();
+        if (header != empty()) {
+            renderedContent.add(header);
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            renderedContent.add(this.item(items.get(i), i == itemsPerPage - 1).asComponent());
+        }
+
         final Component footer = this.footer(page, pages).asComponent();
         if (footer != empty()) {
             renderedContent.add(footer);
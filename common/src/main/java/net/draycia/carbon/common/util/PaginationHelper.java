@@ -20,8 +20,14 @@
 package net.draycia.carbon.common.util;
 
 import com.google.inject.Inject;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.IntFunction;
+import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.users.ProfileResolver;
+import net.draycia.carbon.common.users.UserManagerInternal;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.TextComponent;
@@ -37,10 +43,36 @@ import static net.kyori.adventure.text.event.ClickEvent.runCommand;
 public final class PaginationHelper {
 
     private final CarbonMessages messages;
+    private final UserManagerInternal<?> users;
+    private final ProfileResolver profileResolver;
 
     @Inject
-    private PaginationHelper(final CarbonMessages messages) {
+    private PaginationHelper(
+        final CarbonMessages messages,
+        final UserManagerInternal<?> users,
+        final ProfileResolver profileResolver
+    ) {
         this.messages = messages;
+        this.users = users;
+        this.profileResolver = profileResolver;
+    }
+
+    /**
+     * Page resolver for {@link Pagination#render(List, int, int, java.util.function.Function)} loading
+     * the players on a page in one batch. Names are looked up concurrently through the profile cache
+     * beforehand, so rendering does not block on lookups one player at a time.
+     *
+     * @param ids player ids on the page
+     * @return future completing with the players, in order
+     */
+    public CompletableFuture<List<CarbonPlayer>> resolvePlayers(final List<UUID> ids) {
+        final CompletableFuture<?>[] names = ids.stream()
+            .map(id -> this.profileResolver.resolveName(id).exceptionally($ -> null))
+            .toArray(CompletableFuture[]::new);
+        return this.users.users(ids).thenCombine(
+            CompletableFuture.allOf(names),
+            (players, $) -> List.<CarbonPlayer>copyOf(players.values())
+        );
     }
 
     public Pagination.BiIntFunction<ComponentLike> footerRenderer(final IntFunction<String> commandFunction) {
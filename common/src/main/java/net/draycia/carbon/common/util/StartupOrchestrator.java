@@ -0,0 +1,161 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Runs startup phases with explicit dependencies, letting background phases overlap with
+ * the phases that must run on the enabling thread, and logs how long each phase took.
+ *
+ * <p>Phases must be added after the phases they depend on. Main thread phases run in the order
+ * they were added, once their dependencies are done.</p>
+ */
+@DefaultQualifier(NonNull.class)
+public final class StartupOrchestrator {
+
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Void>> phases = new LinkedHashMap<>();
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+    private final List<MainPhase> mainPhases = new ArrayList<>();
+
+    public StartupOrchestrator(final Logger logger) {
+        this.logger = logger;
+        this.executor = Executors.newCachedThreadPool(ConcurrentUtil.carbonThreadFactory(logger, "Startup"));
+    }
+
+    /**
+     * Adds a phase to run on a background thread as soon as its dependencies are done.
+     *
+     * @param name         phase name
+     * @param task         phase
+     * @param dependencies names of phases that must finish first
+     */
+    public void background(final String name, final Runnable task, final String... dependencies) {
+        this.phases.put(name, this.dependencies(name, dependencies).thenRunAsync(() -> this.timed(name, task), this.executor));
+    }
+
+    /**
+     * Adds a phase to run on the thread calling {@link #run()}.
+     *
+     * @param name         phase name
+     * @param task         phase
+     * @param dependencies names of phases that must finish first
+     */
+    public void main(final String name, final Runnable task, final String... dependencies) {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        this.mainPhases.add(new MainPhase(name, task, this.dependencies(name, dependencies), done));
+        this.phases.put(name, done);
+    }
+
+    /**
+     * Runs the main thread phases and waits for every background phase, then logs the timings.
+     *
+     * <p>After a failure the remaining main thread phases are skipped, and phases depending on a failed or
+     * skipped phase don't run. The first failure is rethrown once all started phases have settled.</p>
+     */
+    public void run() {
+        final long start = System.nanoTime();
+        @Nullable Throwable failure = null;
+        try {
+            for (final MainPhase phase : this.mainPhases) {
+                if (failure != null) {
+                    phase.done().completeExceptionally(failure);
+                    continue;
+                }
+                try {
+                    phase.dependencies().join();
+                    this.timed(phase.name(), phase.task());
+                    phase.done().complete(null);
+                } catch (final Throwable thr) {
+                    failure = unwrap(thr);
+                    phase.done().completeExceptionally(failure);
+                }
+            }
+            for (final CompletableFuture<Void> phase : this.phases.values()) {
+                try {
+                    phase.join();
+                } catch (final CompletionException | CancellationException ex) {
+                    if (failure == null) {
+                        failure = unwrap(ex);
+                    }
+                }
+            }
+        } finally {
+            ConcurrentUtil.shutdownExecutor(this.executor, TimeUnit.SECONDS, 5);
+        }
+        if (failure != null) {
+            throw Exceptions.rethrow(failure);
+        }
+
+        final StringJoiner summary = new StringJoiner(", ");
+        synchronized (this.timings) {
+            this.timings.forEach((name, millis) -> summary.add(name + " " + millis + "ms"));
+        }
+        this.logger.info("Started in {}ms ({})", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), summary);
+    }
+
+    private static Throwable unwrap(final Throwable thr) {
+        return thr instanceof CompletionException && thr.getCause() != null ? thr.getCause() : thr;
+    }
+
+    private CompletableFuture<Void> dependencies(final String name, final String... dependencies) {
+        if (this.phases.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate startup phase " + name);
+        }
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            final CompletableFuture<Void> dependency = this.phases.get(dependencies[i]);
+            if (dependency == null) {
+                throw new IllegalArgumentException("Startup phase " + name + " depends on unknown phase " + dependencies[i]);
+            }
+            futures[i] = dependency;
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private void timed(final String name, final Runnable task) {
+        final long start = System.nanoTime();
+        task.run();
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        synchronized (this.timings) {
+            this.timings.put(name, millis);
+        }
+    }
+
+    private record MainPhase(String name, Runnable task, CompletableFuture<Void> dependencies, CompletableFuture<Void> done) {
+    }
+
+}
@@ -22,8 +22,11 @@ package net.draycia.carbon.common.util;
 import com.google.common.base.Suppliers;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -46,6 +49,36 @@ public final class Strings {
         return s == null ? null : s.trim();
     }
 
+    /**
+     * Serializes a component to plain text, returning the content of a lone text component as is.
+     *
+     * @param component component
+     * @return plain text
+     */
+    public static String plainText(final Component component) {
+        if (component instanceof TextComponent text && text.children().isEmpty()) {
+            return text.content();
+        }
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    /**
+     * Makes URLs in a component clickable, leaving the component untouched when it contains none.
+     *
+     * <p>The plain text is scanned once before the component is rebuilt, since every URL
+     * matched by the pattern contains a {@code '.'} most messages are ruled out without the regex.</p>
+     *
+     * @param component component
+     * @return the component with clickable URLs
+     */
+    public static Component replaceUrls(final Component component) {
+        final String text = plainText(component);
+        if (text.indexOf('.') == -1 || !DEFAULT_URL_PATTERN.matcher(text).find()) {
+            return component;
+        }
+        return component.replaceText(URL_REPLACEMENT_CONFIG.get());
+    }
+
     public static String asHexString(final byte[] bytes) {
         final StringBuilder sb = new StringBuilder(bytes.length * 2);
         for (final byte b : bytes) {
@@ -0,0 +1 @@
+SELECT COUNT(*) FROM carbon_parties;
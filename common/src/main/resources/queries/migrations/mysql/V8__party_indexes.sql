@@ -0,0 +1,3 @@
+CREATE INDEX idx_carbon_party_members_playerid ON carbon_party_members (playerid);
+
+CREATE INDEX idx_carbon_users_party ON carbon_users (party);
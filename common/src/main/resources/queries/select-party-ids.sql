@@ -0,0 +1 @@
+SELECT partyid FROM carbon_parties<after> ORDER BY partyid LIMIT :limit;
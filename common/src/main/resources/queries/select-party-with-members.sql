@@ -0,0 +1,7 @@
+SELECT
+    p.partyid,
+    p.name,
+    m.playerid
+FROM carbon_parties p
+LEFT JOIN carbon_party_members m ON (m.partyid = p.partyid)
+WHERE (p.partyid = :partyid);
@@ -0,0 +1,21 @@
+SELECT
+    0 AS kind,
+    id,
+    muted,
+    deafened,
+    selectedchannel,
+    displayname,
+    lastwhispertarget,
+    whisperreplytarget,
+    spying,
+    ignoringdms,
+    party,
+    {MYSQL:CAST(NULL AS BINARY(16))}{!MYSQL:CAST(NULL AS UUID)} AS ignoredplayer,
+    {MYSQL:CAST(NULL AS CHAR(256))}{!MYSQL:CAST(NULL AS VARCHAR(256))} AS channel
+FROM carbon_users WHERE id IN (<ids>)
+UNION ALL
+SELECT 1, id, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, ignoredplayer, NULL
+FROM carbon_ignores WHERE id IN (<ids>)
+UNION ALL
+SELECT 2, id, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, channel
+FROM carbon_leftchannels WHERE id IN (<ids>);
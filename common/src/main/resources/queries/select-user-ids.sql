@@ -0,0 +1 @@
+SELECT id FROM carbon_users<after> ORDER BY id LIMIT :limit;
@@ -0,0 +1,41 @@
+{!H2:INSERT}{H2:MERGE} INTO carbon_users(
+    id,
+    muted,
+    deafened,
+    selectedchannel,
+    displayname,
+    lastwhispertarget,
+    whisperreplytarget,
+    spying,
+    ignoringdms,
+    party
+){H2: KEY (id)} VALUES (
+    :id,
+    :muted,
+    :deafened,
+    :selectedchannel,
+    :displayname,
+    :lastwhispertarget,
+    :whisperreplytarget,
+    :spying,
+    :ignoringdms,
+    :party
+){MYSQL: ON DUPLICATE KEY UPDATE
+    muted = VALUES(muted),
+    deafened = VALUES(deafened),
+    selectedchannel = VALUES(selectedchannel),
+    displayname = VALUES(displayname),
+    lastwhispertarget = VALUES(lastwhispertarget),
+    whisperreplytarget = VALUES(whisperreplytarget),
+    spying = VALUES(spying),
+    ignoringdms = VALUES(ignoringdms),
+    party = VALUES(party)}{PSQL: ON CONFLICT (id) DO UPDATE SET
+    muted = EXCLUDED.muted,
+    deafened = EXCLUDED.deafened,
+    selectedchannel = EXCLUDED.selectedchannel,
+    displayname = EXCLUDED.displayname,
+    lastwhispertarget = EXCLUDED.lastwhispertarget,
+    whisperreplytarget = EXCLUDED.whisperreplytarget,
+    spying = EXCLUDED.spying,
+    ignoringdms = EXCLUDED.ignoringdms,
+    party = EXCLUDED.party};
@@ -42,6 +42,7 @@ import net.draycia.carbon.common.users.ProfileResolver;
 import net.draycia.carbon.fabric.listeners.FabricChatHandler;
 import net.draycia.carbon.fabric.listeners.FabricJoinQuitListener;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.message.v1.ServerMessageEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
@@ -119,6 +120,7 @@ public final class CarbonChatFabric extends CarbonChatInternal {
         ServerLifecycleEvents.SERVER_STARTING.register(server -> MiniPlaceholdersExpansion.register(this.injector()));
         ServerLifecycleEvents.SERVER_STARTED.register(server -> this.checkVersion());
         ServerLifecycleEvents.SERVER_STOPPED.register(server -> this.shutdown());
+        ServerTickEvents.END_SERVER_TICK.register(this.injector().getInstance(FabricPositionUpdater.class));
     }
 
     private void registerPlayerStatusListeners() {
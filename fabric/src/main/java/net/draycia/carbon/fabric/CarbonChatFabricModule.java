@@ -33,6 +33,7 @@ import net.draycia.carbon.common.CarbonCommonModule;
 import net.draycia.carbon.common.CarbonPlatformModule;
 import net.draycia.carbon.common.DataDirectory;
 import net.draycia.carbon.common.PlatformScheduler;
+import net.draycia.carbon.common.PluginInstance;
 import net.draycia.carbon.common.RawChat;
 import net.draycia.carbon.common.command.CommandSettings;
 import net.draycia.carbon.common.command.Commander;
@@ -118,6 +119,7 @@ public final class CarbonChatFabricModule extends CarbonPlatformModule {
         this.install(new CarbonCommonModule());
 
         this.bind(ModContainer.class).toInstance(this.modContainer);
+        this.bind(Object.class).annotatedWith(PluginInstance.class).toInstance(this.modContainer);
         this.bind(CarbonChat.class).to(CarbonChatFabric.class);
         this.bind(Logger.class).toInstance(this.logger);
         this.bind(Path.class).annotatedWith(DataDirectory.class).toInstance(FabricLoader.getInstance().getConfigDir().resolve(this.modContainer.getMetadata().getId()));
@@ -0,0 +1,62 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.fabric;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.List;
+import net.draycia.carbon.common.users.PositionSnapshot;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Publishes player positions to the {@link PositionSnapshot} at the end of every server tick.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+final class FabricPositionUpdater implements ServerTickEvents.EndTick {
+
+    private final PositionSnapshot positions;
+
+    @Inject
+    private FabricPositionUpdater(final PositionSnapshot positions) {
+        this.positions = positions;
+    }
+
+    @Override
+    public void onEndTick(final MinecraftServer server) {
+        final List<ServerPlayer> players = server.getPlayerList().getPlayers();
+        final PositionSnapshot.Builder builder = this.positions.builder(players.size());
+        for (final ServerPlayer player : players) {
+            builder.add(
+                player.getUUID(),
+                this.positions.worldId(player.level().dimension()),
+                player.getX(),
+                player.getY(),
+                player.getZ()
+            );
+        }
+        this.positions.publish(builder);
+    }
+
+}
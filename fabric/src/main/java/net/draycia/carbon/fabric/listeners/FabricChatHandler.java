@@ -20,15 +20,24 @@
 package net.draycia.carbon.fabric.listeners;
 
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import net.draycia.carbon.api.users.CarbonPlayer;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import net.draycia.carbon.common.ChatPipeline;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.listeners.ChatListenerInternal;
 import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.metrics.ChatTracer;
 import net.draycia.carbon.fabric.CarbonChatFabric;
 import net.draycia.carbon.fabric.users.CarbonPlayerFabric;
 import net.fabricmc.fabric.api.message.v1.ServerMessageEvents;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.platform.fabric.FabricAudiences;
 import net.kyori.adventure.text.Component;
 import net.minecraft.commands.CommandSourceStack;
@@ -50,16 +59,21 @@ public class FabricChatHandler extends ChatListenerInternal implements ServerMes
     public static final ResourceLocation CHAT_TYPE_KEY = new ResourceLocation("carbonchat", "chat");
 
     private final CarbonChatFabric carbonChat;
+    private final ChatDelivery chatDelivery;
     private @MonotonicNonNull ResourceKey<ChatType> chatTypeResourceKey;
 
     @Inject
     public FabricChatHandler(
         final ConfigManager configManager,
         final CarbonChatFabric carbonChat,
-        final CarbonMessages carbonMessages
+        final CarbonMessages carbonMessages,
+        final ChatDelivery chatDelivery,
+        final ChatTracer chatTracer,
+        final @ChatPipeline ExecutorService pipelineExecutor
     ) {
-        super(carbonChat.eventHandler(), carbonMessages, configManager);
+        super(carbonChat.eventHandler(), carbonMessages, configManager, chatTracer, pipelineExecutor);
         this.carbonChat = carbonChat;
+        this.chatDelivery = chatDelivery;
     }
 
     @Override
@@ -68,37 +82,63 @@ public class FabricChatHandler extends ChatListenerInternal implements ServerMes
             return false;
         }
 
-        final @Nullable CarbonPlayer sender = this.carbonChat.userManager().user(serverPlayer.getUUID()).join();
-
         final String content = chatMessage.decoratedContent().getString();
-        final @Nullable CarbonChatEventImpl chatEvent = this.prepareAndEmitChatEvent(sender, content, null);
 
+        // Runs inline when the sender is loaded, otherwise delivery is handed back to the server thread later,
+        // still behind the sender's earlier messages
+        final UUID senderId = serverPlayer.getUUID();
+        this.emitInOrder(senderId, this.carbonChat.userManager().user(senderId), content, null,
+                chatEvent -> serverPlayer.server.execute(() -> this.deliver(chatEvent, chatMessage, serverPlayer)))
+            .whenComplete(($, thr) -> {
+                if (thr != null) {
+                    this.carbonChat.logger().warn("Exception handling chat from {}", serverPlayer.getGameProfile().getName(), thr);
+                }
+            });
+
+        return false;
+    }
+
+    private void deliver(final @Nullable CarbonChatEventImpl chatEvent, final PlayerChatMessage chatMessage, final ServerPlayer serverPlayer) {
         if (chatEvent == null || chatEvent.cancelled()) {
-            return false;
+            return;
+        }
+
+        final List<? extends Audience> recipients = chatEvent.recipients();
+        final Component[] rendered = this.chatDelivery.render(chatEvent, recipients);
+
+        // Most recipients usually see the same render, so group them and convert each distinct render only once
+        final Map<Component, List<Audience>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < rendered.length; i++) {
+            groups.computeIfAbsent(rendered[i], $ -> new ArrayList<>()).add(recipients.get(i));
         }
 
-        for (final var recipient : chatEvent.recipients()) {
-            final Component finishedMessage = chatEvent.renderFor(recipient);
+        final RegistryAccess registryAccess = serverPlayer.level().registryAccess();
+        final ResourceKey<ChatType> chatType = this.chatType(registryAccess);
 
-            final net.minecraft.network.chat.Component nativeMessage = FabricAudiences.nonWrappingSerializer().serialize(finishedMessage);
+        for (final Map.Entry<Component, List<Audience>> group : groups.entrySet()) {
+            final net.minecraft.network.chat.Component nativeMessage = FabricAudiences.nonWrappingSerializer().serialize(group.getKey());
             final PlayerChatMessage customChatMessage = new PlayerChatMessage(chatMessage.link(), chatMessage.signature(), chatMessage.signedBody(), nativeMessage, FilterMask.FULLY_FILTERED);
-            final RegistryAccess registryAccess = serverPlayer.level().registryAccess();
-            if (this.chatTypeResourceKey == null) {
-                final Registry<ChatType> reg = registryAccess.registryOrThrow(Registries.CHAT_TYPE);
-                this.chatTypeResourceKey = Optional.ofNullable(reg.get(CHAT_TYPE_KEY)).flatMap(reg::getResourceKey).orElseThrow();
-            }
-            final ChatType.Bound customBound = ChatType.bind(this.chatTypeResourceKey, registryAccess, nativeMessage);
-
-            if (recipient instanceof CommandSourceStack recipientSource) {
-                recipientSource.sendChatMessage(new OutgoingChatMessage.Player(customChatMessage), false, customBound);
-            } else if (recipient instanceof CarbonPlayerFabric carbonPlayerFabric) {
-                carbonPlayerFabric.player().ifPresent(fabricPlayer -> {
-                    fabricPlayer.sendChatMessage(new OutgoingChatMessage.Player(customChatMessage), false, customBound);
-                });
+            final OutgoingChatMessage outgoing = new OutgoingChatMessage.Player(customChatMessage);
+            final ChatType.Bound customBound = ChatType.bind(chatType, registryAccess, nativeMessage);
+
+            for (final Audience recipient : group.getValue()) {
+                if (recipient instanceof CommandSourceStack recipientSource) {
+                    recipientSource.sendChatMessage(outgoing, false, customBound);
+                } else if (recipient instanceof CarbonPlayerFabric carbonPlayerFabric) {
+                    carbonPlayerFabric.player().ifPresent(fabricPlayer -> {
+                        fabricPlayer.sendChatMessage(outgoing, false, customBound);
+                    });
+                }
             }
         }
+    }
 
-        return false;
+    private ResourceKey<ChatType> chatType(final RegistryAccess registryAccess) {
+        if (this.chatTypeResourceKey == null) {
+            final Registry<ChatType> reg = registryAccess.registryOrThrow(Registries.CHAT_TYPE);
+            this.chatTypeResourceKey = Optional.ofNullable(reg.get(CHAT_TYPE_KEY)).flatMap(reg::getResourceKey).orElseThrow();
+        }
+        return this.chatTypeResourceKey;
     }
 
 }
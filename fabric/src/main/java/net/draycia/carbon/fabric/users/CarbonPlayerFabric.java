@@ -29,6 +29,7 @@ import me.lucko.fabric.api.permissions.v0.Permissions;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.InventorySlot;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.PositionSnapshot;
 import net.draycia.carbon.common.users.WrappedCarbonPlayer;
 import net.draycia.carbon.common.util.EmptyAudienceWithPointers;
 import net.draycia.carbon.fabric.CarbonChatFabric;
@@ -49,12 +50,19 @@ public class CarbonPlayerFabric extends WrappedCarbonPlayer implements Forwardin
 
     private final MinecraftServerHolder serverHolder;
     private final Provider<CarbonChatFabric> carbonChatFabric;
+    private final PositionSnapshot positions;
 
     @AssistedInject
-    public CarbonPlayerFabric(final @Assisted CarbonPlayerCommon carbonPlayerCommon, final MinecraftServerHolder serverHolder, final Provider<CarbonChatFabric> carbonChatFabric) {
+    public CarbonPlayerFabric(
+        final @Assisted CarbonPlayerCommon carbonPlayerCommon,
+        final MinecraftServerHolder serverHolder,
+        final Provider<CarbonChatFabric> carbonChatFabric,
+        final PositionSnapshot positions
+    ) {
         super(carbonPlayerCommon);
         this.serverHolder = serverHolder;
         this.carbonChatFabric = carbonChatFabric;
+        this.positions = positions;
     }
 
     @Override
@@ -88,6 +96,10 @@ public class CarbonPlayerFabric extends WrappedCarbonPlayer implements Forwardin
 
     @Override
     public double distanceSquaredFrom(final CarbonPlayer other) {
+        if (this.positions.available()) {
+            return this.positions.distanceSquared(this.uuid(), other.uuid());
+        }
+
         if (this.player().isEmpty()) {
             return -1;
         }
@@ -109,6 +121,10 @@ public class CarbonPlayerFabric extends WrappedCarbonPlayer implements Forwardin
 
     @Override
     public boolean sameWorldAs(final CarbonPlayer other) {
+        if (this.positions.available()) {
+            return this.positions.sameWorld(this.uuid(), other.uuid());
+        }
+
         if (this.player().isEmpty()) {
             return false;
         }
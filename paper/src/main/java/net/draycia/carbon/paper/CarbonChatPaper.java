@@ -106,6 +106,7 @@ public final class CarbonChatPaper extends CarbonChatInternal {
             );
         }
 
+        this.injector().getInstance(PaperPositionUpdater.class).start();
         this.discoverDiscordHooks();
         MiniPlaceholdersExpansion.register(this.injector());
 
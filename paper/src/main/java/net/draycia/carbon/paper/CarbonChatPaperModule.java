@@ -30,6 +30,7 @@ import net.draycia.carbon.common.CarbonCommonModule;
 import net.draycia.carbon.common.CarbonPlatformModule;
 import net.draycia.carbon.common.DataDirectory;
 import net.draycia.carbon.common.PlatformScheduler;
+import net.draycia.carbon.common.PluginInstance;
 import net.draycia.carbon.common.RawChat;
 import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.ExecutionCoordinatorHolder;
@@ -103,6 +104,7 @@ public final class CarbonChatPaperModule extends CarbonPlatformModule {
 
         this.bind(CarbonChat.class).to(CarbonChatPaper.class);
         this.bind(JavaPlugin.class).toInstance(this.bootstrap);
+        this.bind(Object.class).annotatedWith(PluginInstance.class).toInstance(this.bootstrap);
         this.bind(Server.class).toInstance(this.bootstrap.getServer());
         this.bind(Logger.class).toInstance(this.logger);
         this.bind(Path.class).annotatedWith(DataDirectory.class).toInstance(this.bootstrap.getDataFolder().toPath());
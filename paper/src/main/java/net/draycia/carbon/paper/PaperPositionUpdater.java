@@ -0,0 +1,80 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.paper;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Collection;
+import net.draycia.carbon.common.users.PositionSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Publishes player positions to the {@link PositionSnapshot} every tick.
+ *
+ * <p>Not started on Folia, where no single thread may read every player; players fall back
+ * to live lookups there.</p>
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+final class PaperPositionUpdater implements Runnable {
+
+    private final JavaPlugin plugin;
+    private final Server server;
+    private final PositionSnapshot positions;
+    private final Location location = new Location(null, 0, 0, 0);
+
+    @Inject
+    private PaperPositionUpdater(final JavaPlugin plugin, final Server server, final PositionSnapshot positions) {
+        this.plugin = plugin;
+        this.server = server;
+        this.positions = positions;
+    }
+
+    void start() {
+        if (PaperScheduler.FOLIA) {
+            return;
+        }
+        this.server.getScheduler().runTaskTimer(this.plugin, this, 0, 1);
+    }
+
+    @Override
+    public void run() {
+        final Collection<? extends Player> players = this.server.getOnlinePlayers();
+        final PositionSnapshot.Builder builder = this.positions.builder(players.size());
+        for (final Player player : players) {
+            // reuse one Location instead of allocating one per player per tick
+            player.getLocation(this.location);
+            builder.add(
+                player.getUniqueId(),
+                this.positions.worldId(player.getWorld().getUID()),
+                this.location.getX(),
+                this.location.getY(),
+                this.location.getZ()
+            );
+        }
+        this.positions.publish(builder);
+    }
+
+}
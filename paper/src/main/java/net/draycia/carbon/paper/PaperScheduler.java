@@ -34,7 +34,7 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 @DefaultQualifier(NonNull.class)
 public final class PaperScheduler implements PlatformScheduler {
 
-    private static final boolean FOLIA;
+    static final boolean FOLIA;
 
     static {
         boolean folia;
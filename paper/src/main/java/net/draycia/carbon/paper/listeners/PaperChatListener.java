@@ -21,15 +21,23 @@ package net.draycia.carbon.paper.listeners;
 
 import com.google.inject.Inject;
 import io.papermc.paper.event.player.AsyncChatEvent;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.ChatPipeline;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.listeners.ChatListenerInternal;
 import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.metrics.ChatTracer;
+import net.draycia.carbon.common.util.Strings;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.identity.Identity;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.apache.logging.log4j.Logger;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -41,29 +49,59 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 public final class PaperChatListener extends ChatListenerInternal implements Listener {
 
     private final CarbonChat carbonChat;
+    private final Logger logger;
+    private final ChatDelivery chatDelivery;
     final ConfigManager configManager;
 
     @Inject
     public PaperChatListener(
         final CarbonChat carbonChat,
         final CarbonMessages carbonMessages,
-        final ConfigManager configManager
+        final ConfigManager configManager,
+        final Logger logger,
+        final ChatDelivery chatDelivery,
+        final ChatTracer chatTracer,
+        final @ChatPipeline ExecutorService pipelineExecutor
     ) {
-        super(carbonChat.eventHandler(), carbonMessages, configManager);
+        super(carbonChat.eventHandler(), carbonMessages, configManager, chatTracer, pipelineExecutor);
         this.carbonChat = carbonChat;
         this.configManager = configManager;
+        this.logger = logger;
+        this.chatDelivery = chatDelivery;
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onPaperChat(final @NonNull AsyncChatEvent event) {
-        final @Nullable CarbonPlayer sender = this.carbonChat.userManager().user(event.getPlayer().getUniqueId()).join();
-
         if (event.viewers().isEmpty()) {
             return;
         }
 
-        final String content = PlainTextComponentSerializer.plainText().serialize(event.message());
-        final @Nullable CarbonChatEventImpl chatEvent = this.prepareAndEmitChatEvent(sender, content, event.signedMessage());
+        final UUID senderId = event.getPlayer().getUniqueId();
+        final CompletableFuture<CarbonPlayer> sender = readySender(this.carbonChat.userManager().user(senderId));
+        final String content = Strings.plainText(event.message());
+
+        if (this.configManager.primaryConfig().deliverySettings().takeOverColdChat() && (!sender.isDone() || this.inFlight(senderId))) {
+            // Don't stall the chat thread on a cold user load, take over delivery once the sender is available.
+            // Carbon sends the result as a system message, so it is delivered without the player's signature.
+            // Once a message was taken over, the sender's next ones follow it until it has been delivered.
+            event.setCancelled(true);
+            this.emitInOrder(senderId, sender, content, null, chatEvent -> {
+                if (chatEvent == null || chatEvent.cancelled()) {
+                    return;
+                }
+
+                this.chatDelivery.deliver(chatEvent, chatEvent.recipients(), Audience::sendMessage);
+            }).whenComplete(($, thr) -> {
+                if (thr != null) {
+                    this.logger.warn("Exception handling chat from {}", event.getPlayer().getName(), thr);
+                }
+            });
+            return;
+        }
+
+        // The chat thread is asynchronous, so waiting for a cold load here keeps the event visible to other
+        // plugins and the message signed
+        final @Nullable CarbonChatEventImpl chatEvent = this.prepareAndEmitChatEvent(sender.join(), content, event.signedMessage());
 
         if (chatEvent == null || chatEvent.cancelled()) {
             event.setCancelled(true);
@@ -77,18 +115,27 @@ public final class PaperChatListener extends ChatListenerInternal implements Lis
             exception.printStackTrace();
         }
 
+        // Viewers are normally our own players already, anything else is resolved up front in one batch.
+        // Paper renders right after this handler returns, so the batch may still be loading by then
+        final CompletableFuture<Map<UUID, CarbonPlayer>> resolved = resolveRecipients(this.carbonChat.userManager(), event.viewers());
+
         event.renderer(($, $$, $$$, recipient) -> {
-            final var recipientUUID = recipient.get(Identity.UUID);
             final Audience recipientViewer;
 
-            if (recipientUUID.isPresent()) {
-                recipientViewer = this.carbonChat.userManager().user(recipientUUID.get()).join();
-            } else {
+            if (recipient instanceof CarbonPlayer) {
                 recipientViewer = recipient;
+            } else {
+                final @Nullable CarbonPlayer player = recipient.get(Identity.UUID)
+                    .map(uuid -> resolved.join().get(uuid))
+                    .orElse(null);
+                recipientViewer = player == null ? recipient : player;
             }
 
             return chatEvent.renderFor(recipientViewer);
         });
+
+        // Paper renders for each viewer later on, so this trace ends before rendering
+        this.chatTracer.finish(chatEvent.trace());
     }
 
 }
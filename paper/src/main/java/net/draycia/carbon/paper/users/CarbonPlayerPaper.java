@@ -29,6 +29,7 @@ import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.InventorySlot;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.PositionSnapshot;
 import net.draycia.carbon.common.users.WrappedCarbonPlayer;
 import net.draycia.carbon.common.util.EmptyAudienceWithPointers;
 import net.kyori.adventure.audience.Audience;
@@ -48,12 +49,16 @@ import org.jetbrains.annotations.NotNull;
 @DefaultQualifier(NonNull.class)
 public final class CarbonPlayerPaper extends WrappedCarbonPlayer implements ForwardingAudience.Single {
 
+    private final PositionSnapshot positions;
+
     @AssistedInject
     private CarbonPlayerPaper(
         final @Assisted CarbonPlayerCommon carbonPlayerCommon,
-        final ConfigManager config
+        final ConfigManager config,
+        final PositionSnapshot positions
     ) {
         super(carbonPlayerCommon);
+        this.positions = positions;
 
         if (config.primaryConfig().nickname().useCarbonNicknames()) {
             this.player().ifPresent(this.applyDisplayNameToBukkit(this.hasNickname() ? this.displayName() : null));
@@ -76,6 +81,10 @@ public final class CarbonPlayerPaper extends WrappedCarbonPlayer implements Forw
 
     @Override
     public double distanceSquaredFrom(final CarbonPlayer other) {
+        if (this.positions.available()) {
+            return this.positions.distanceSquared(this.uuid(), other.uuid());
+        }
+
         if (this.player().isEmpty()) {
             return -1;
         }
@@ -92,6 +101,10 @@ public final class CarbonPlayerPaper extends WrappedCarbonPlayer implements Forw
 
     @Override
     public boolean sameWorldAs(final CarbonPlayer other) {
+        if (this.positions.available()) {
+            return this.positions.sameWorld(this.uuid(), other.uuid());
+        }
+
         if (this.player().isEmpty()) {
             return false;
         }
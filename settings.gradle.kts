@@ -88,7 +88,8 @@ listOf(
   "paper",
   // "sponge", // TODO API 10
   "fabric",
-  "velocity"
+  "velocity",
+  "benchmarks"
 ).forEach {
   include("carbonchat-$it")
   project(":carbonchat-$it").projectDir = file(it)
@@ -23,7 +23,6 @@ import com.google.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.channels.ChannelRegistry;
 import net.draycia.carbon.api.events.CarbonChatEvent;
@@ -64,8 +63,6 @@ public final class SpongeChatListener {
     private final ChannelRegistry registry;
     private final CarbonMessages carbonMessages;
 
-    private static final Pattern DEFAULT_URL_PATTERN = Pattern.compile("(?:(https?)://)?([-\\w_.]+\\.\\w{2,})(/\\S*)?");
-
     @Inject
     private SpongeChatListener(
         final CarbonChat carbonChat,
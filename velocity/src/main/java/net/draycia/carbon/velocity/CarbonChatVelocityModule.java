@@ -34,6 +34,7 @@ import net.draycia.carbon.common.CarbonCommonModule;
 import net.draycia.carbon.common.CarbonPlatformModule;
 import net.draycia.carbon.common.DataDirectory;
 import net.draycia.carbon.common.PlatformScheduler;
+import net.draycia.carbon.common.PluginInstance;
 import net.draycia.carbon.common.RawChat;
 import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.ExecutionCoordinatorHolder;
@@ -48,6 +49,7 @@ import net.draycia.carbon.velocity.listeners.VelocityChatListener;
 import net.draycia.carbon.velocity.listeners.VelocityListener;
 import net.draycia.carbon.velocity.listeners.VelocityPlayerJoinListener;
 import net.draycia.carbon.velocity.listeners.VelocityPlayerLeaveListener;
+import net.draycia.carbon.velocity.listeners.VelocityServerConnectedListener;
 import net.draycia.carbon.velocity.users.CarbonPlayerVelocity;
 import net.draycia.carbon.velocity.users.VelocityProfileResolver;
 import net.kyori.adventure.key.Key;
@@ -113,6 +115,7 @@ public final class CarbonChatVelocityModule extends CarbonPlatformModule {
         this.bind(CarbonServer.class).to(CarbonServerVelocity.class);
         this.bind(ProfileResolver.class).to(VelocityProfileResolver.class);
         this.bind(Path.class).annotatedWith(DataDirectory.class).toInstance(this.dataDirectory);
+        this.bind(Object.class).annotatedWith(PluginInstance.class).toInstance(this.pluginContainer);
         this.bind(Logger.class).toInstance(this.logger);
         this.bind(PlatformScheduler.class).to(PlatformScheduler.RunImmediately.class);
         this.install(PlatformUserManager.PlayerFactory.moduleFor(CarbonPlayerVelocity.class));
@@ -127,6 +130,7 @@ public final class CarbonChatVelocityModule extends CarbonPlatformModule {
         listeners.addBinding().to(VelocityChatListener.class);
         listeners.addBinding().to(VelocityPlayerJoinListener.class);
         listeners.addBinding().to(VelocityPlayerLeaveListener.class);
+        listeners.addBinding().to(VelocityServerConnectedListener.class);
     }
 
 }
@@ -28,15 +28,18 @@ import com.velocitypowered.api.event.player.PlayerChatEvent;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.api.proxy.Player;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import net.draycia.carbon.api.CarbonChat;
-import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.users.UserManager;
+import net.draycia.carbon.common.ChatPipeline;
 import net.draycia.carbon.common.config.ConfigManager;
 import net.draycia.carbon.common.event.events.CarbonChatEventImpl;
+import net.draycia.carbon.common.listeners.ChatDelivery;
 import net.draycia.carbon.common.listeners.ChatListenerInternal;
 import net.draycia.carbon.common.messages.CarbonMessages;
+import net.draycia.carbon.common.metrics.ChatTracer;
 import net.draycia.carbon.velocity.CarbonVelocityBootstrap;
 import net.kyori.adventure.audience.Audience;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -51,6 +54,7 @@ public final class VelocityChatListener extends ChatListenerInternal implements
     private final Logger logger;
     private final AtomicInteger timesWarned = new AtomicInteger(0);
     private final Supplier<Boolean> signedSupplier;
+    private final ChatDelivery chatDelivery;
     final ConfigManager configManager;
 
     @Inject
@@ -60,12 +64,16 @@ public final class VelocityChatListener extends ChatListenerInternal implements
         final Logger logger,
         final PluginManager pluginManager,
         final CarbonMessages carbonMessages,
-        final ConfigManager configManager
+        final ConfigManager configManager,
+        final ChatDelivery chatDelivery,
+        final ChatTracer chatTracer,
+        final @ChatPipeline ExecutorService pipelineExecutor
     ) {
-        super(carbonChat.eventHandler(), carbonMessages, configManager);
+        super(carbonChat.eventHandler(), carbonMessages, configManager, chatTracer, pipelineExecutor);
         this.userManager = userManager;
         this.logger = logger;
         this.configManager = configManager;
+        this.chatDelivery = chatDelivery;
         this.signedSupplier = Suppliers.memoize(
             () -> pluginManager.isLoaded("unsignedvelocity")
                 || pluginManager.isLoaded("signedvelocity")
@@ -78,13 +86,9 @@ public final class VelocityChatListener extends ChatListenerInternal implements
     }
 
     @Override
-    public EventTask executeAsync(final PlayerChatEvent event) {
-        return EventTask.async(() -> this.executeEvent(event));
-    }
-
-    private void executeEvent(final PlayerChatEvent event) {
+    public @Nullable EventTask executeAsync(final PlayerChatEvent event) {
         if (!event.getResult().isAllowed()) {
-            return;
+            return null;
         }
 
         final Player player = event.getPlayer();
@@ -105,23 +109,30 @@ public final class VelocityChatListener extends ChatListenerInternal implements
                     """, player.getUsername()
                 );
             }
-            return;
+            return null;
         }
 
         event.setResult(PlayerChatEvent.ChatResult.denied());
 
-        final CarbonPlayer sender = this.userManager.user(event.getPlayer().getUniqueId()).join();
-
         final String content = event.getResult().getMessage().orElse(event.getMessage());
-        final @Nullable CarbonChatEventImpl chatEvent = this.prepareAndEmitChatEvent(sender, content, null);
 
+        // The message is already denied, so delivery doesn't need to hold up the event
+        this.emitInOrder(player.getUniqueId(), this.userManager.user(player.getUniqueId()), content, null, this::deliver)
+            .whenComplete(($, thr) -> {
+                if (thr != null) {
+                    this.logger.warn("Exception handling chat from {}", player.getUsername(), thr);
+                }
+            });
+
+        return null;
+    }
+
+    private void deliver(final @Nullable CarbonChatEventImpl chatEvent) {
         if (chatEvent == null || chatEvent.cancelled()) {
             return;
         }
 
-        for (final Audience recipient : chatEvent.recipients()) {
-            recipient.sendMessage(chatEvent.renderFor(recipient));
-        }
+        this.chatDelivery.deliver(chatEvent, chatEvent.recipients(), Audience::sendMessage);
     }
 
 }
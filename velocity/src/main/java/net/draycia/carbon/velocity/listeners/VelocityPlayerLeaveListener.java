@@ -25,6 +25,7 @@ import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
 import net.draycia.carbon.common.users.UserManagerInternal;
 import net.draycia.carbon.velocity.CarbonVelocityBootstrap;
+import net.draycia.carbon.velocity.users.BackendServerIndex;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -36,14 +37,17 @@ public final class VelocityPlayerLeaveListener implements VelocityListener<Disco
 
     private final UserManagerInternal<?> userManager;
     private final Logger logger;
+    private final BackendServerIndex serverIndex;
 
     @Inject
     public VelocityPlayerLeaveListener(
         final UserManagerInternal<?> userManager,
-        final Logger logger
+        final Logger logger,
+        final BackendServerIndex serverIndex
     ) {
         this.userManager = userManager;
         this.logger = logger;
+        this.serverIndex = serverIndex;
     }
 
     @Override
@@ -53,6 +57,9 @@ public final class VelocityPlayerLeaveListener implements VelocityListener<Disco
 
     @Override
     public EventTask executeAsync(final DisconnectEvent event) {
+        if (event.getLoginStatus() != DisconnectEvent.LoginStatus.CONFLICTING_LOGIN) {
+            this.serverIndex.disconnected(event.getPlayer().getUniqueId());
+        }
         return EventTask.async(() -> {
             if (event.getLoginStatus() == DisconnectEvent.LoginStatus.CONFLICTING_LOGIN) {
                 return;
@@ -0,0 +1,64 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.velocity.listeners;
+
+import com.google.inject.Inject;
+import com.velocitypowered.api.event.EventManager;
+import com.velocitypowered.api.event.EventTask;
+import com.velocitypowered.api.event.player.ServerConnectedEvent;
+import com.velocitypowered.api.proxy.Player;
+import net.draycia.carbon.velocity.CarbonVelocityBootstrap;
+import net.draycia.carbon.velocity.users.BackendServerIndex;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@DefaultQualifier(NonNull.class)
+public final class VelocityServerConnectedListener implements VelocityListener<ServerConnectedEvent> {
+
+    private final BackendServerIndex serverIndex;
+
+    @Inject
+    public VelocityServerConnectedListener(final BackendServerIndex serverIndex) {
+        this.serverIndex = serverIndex;
+    }
+
+    @Override
+    public void register(final EventManager eventManager, final CarbonVelocityBootstrap bootstrap) {
+        eventManager.register(bootstrap, ServerConnectedEvent.class, this);
+    }
+
+    @Override
+    public @Nullable EventTask executeAsync(final ServerConnectedEvent event) {
+        final Player player = event.getPlayer();
+        // A late event for a player who already left would never be removed again
+        if (!player.isActive()) {
+            return null;
+        }
+
+        this.serverIndex.connected(player.getUniqueId(), event.getServer());
+        if (!player.isActive()) {
+            // Disconnected while being indexed, the DisconnectEvent may have run in between
+            this.serverIndex.disconnected(player.getUniqueId(), event.getServer());
+        }
+        return null;
+    }
+
+}
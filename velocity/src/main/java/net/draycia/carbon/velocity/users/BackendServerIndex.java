@@ -0,0 +1,62 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2024 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.velocity.users;
+
+import com.google.inject.Singleton;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * The backend server of each connected player, kept up to date from connection events
+ * so same-server checks don't need to look up both players on the proxy.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class BackendServerIndex {
+
+    private final Map<UUID, RegisteredServer> serverByPlayer = new ConcurrentHashMap<>();
+
+    public void connected(final UUID player, final RegisteredServer server) {
+        this.serverByPlayer.put(player, server);
+    }
+
+    public void disconnected(final UUID player) {
+        this.serverByPlayer.remove(player);
+    }
+
+    public void disconnected(final UUID player, final RegisteredServer server) {
+        this.serverByPlayer.remove(player, server);
+    }
+
+    public @Nullable RegisteredServer server(final UUID player) {
+        return this.serverByPlayer.get(player);
+    }
+
+    public boolean sameServer(final UUID first, final UUID second) {
+        final @Nullable RegisteredServer server = this.serverByPlayer.get(first);
+        return server != null && server.equals(this.serverByPlayer.get(second));
+    }
+
+}
@@ -43,11 +43,13 @@ import org.jetbrains.annotations.NotNull;
 public final class CarbonPlayerVelocity extends WrappedCarbonPlayer implements ForwardingAudience.Single {
 
     private final ProxyServer server;
+    private final BackendServerIndex serverIndex;
 
     @AssistedInject
-    private CarbonPlayerVelocity(final ProxyServer server, @Assisted final CarbonPlayerCommon carbonPlayerCommon) {
+    private CarbonPlayerVelocity(final ProxyServer server, final BackendServerIndex serverIndex, @Assisted final CarbonPlayerCommon carbonPlayerCommon) {
         super(carbonPlayerCommon);
         this.server = server;
+        this.serverIndex = serverIndex;
     }
 
     @Override
@@ -77,17 +79,7 @@ public final class CarbonPlayerVelocity extends WrappedCarbonPlayer implements F
 
     @Override
     public boolean sameWorldAs(final CarbonPlayer other) {
-        final Optional<Player> player = this.player();
-        final Optional<Player> otherPlayer = this.server.getPlayer(other.uuid());
-
-        if (player.isEmpty() || otherPlayer.isEmpty()) {
-            return false;
-        }
-
-        final var playerServer = player.get().getCurrentServer().get();
-        final var otherServer = otherPlayer.get().getCurrentServer().get();
-
-        return playerServer.getServer().equals(otherServer.getServer());
+        return this.serverIndex.sameServer(this.uuid(), other.uuid());
     }
 
     @Override